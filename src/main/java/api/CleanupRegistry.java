@@ -0,0 +1,324 @@
+package api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Records every test record created during a run and deletes them afterwards.
+ * Registrations are appended to a registry file (one JSON object per line, tagged with the run ID), so a
+ * separate cleanup run can delete what a crashed or earlier run left behind. The file is shared by parallel
+ * runs and only touched under an exclusive file lock. Records are deleted in dependency order
+ * (quotes, opportunities, contacts, accounts) in composite/sobjects DELETE batches of up to 200 IDs,
+ * with a bounded number of batches in flight; records that fail to delete stay in the registry.
+ */
+public class CleanupRegistry {
+
+    /** Deletion order: children before their parents. */
+    public static final List<String> DELETION_ORDER = List.of("SBQQ__Quote__c", "Opportunity", "Contact", "Account");
+
+    private static final int MAX_BATCH_SIZE = 200;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // Already gone (e.g. cascaded with its parent), counts as deleted
+    private static final Set<String> GONE_STATUS_CODES = Set.of("ENTITY_IS_DELETED", "INVALID_CROSS_REFERENCE_KEY", "NOT_FOUND");
+
+    // File locks are held per JVM, so threads of this JVM also queue on a lock of their own
+    private static final Map<Path, ReentrantLock> JVM_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path registryFile;
+    private final Path lockFile;
+    private final String runId;
+
+    /**
+     * Creates a registry.
+     * @param registryFile Path of the registry file
+     * @param runId        ID of this run, recorded with every registration
+     */
+    public CleanupRegistry(Path registryFile, String runId) {
+        this.registryFile = registryFile.toAbsolutePath();
+        this.lockFile = Paths.get(this.registryFile + ".lock");
+        this.runId = runId;
+    }
+
+    /**
+     * Registers a created record for deletion.
+     * @param sObjectType sObject type (e.g. Account, SBQQ__Quote__c)
+     * @param id          Record ID
+     */
+    public void register(String sObjectType, String id) {
+        Map<String, String> entry = new LinkedHashMap<>();
+        entry.put("run", runId);
+        entry.put("type", sObjectType);
+        entry.put("id", id);
+        withLock(() -> {
+            try (BufferedWriter writer = Files.newBufferedWriter(registryFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(OBJECT_MAPPER.writeValueAsString(entry));
+                writer.newLine();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * @return registered record IDs of all runs by sObject type, in registration order without duplicates
+     */
+    public Map<String, Set<String>> getRegisteredRecords() {
+        return withLock(() -> recordsOf(read(), entry -> true));
+    }
+
+    /**
+     * Deletes the records registered by this run, leaving those of other runs to a separate cleanup run.
+     * Records that could not be deleted stay registered.
+     * @param apiClient   Authenticated REST API client
+     * @param concurrency Maximum number of delete batches in flight
+     * @return the cleanup report
+     */
+    public Report deleteRun(SalesforceApiClient apiClient, int concurrency) {
+        return delete(apiClient, concurrency, entry -> runId.equals(entry.get("run")));
+    }
+
+    /**
+     * Deletes the records registered by all runs. Records that could not be deleted stay registered.
+     * @param apiClient   Authenticated REST API client
+     * @param concurrency Maximum number of delete batches in flight
+     * @return the cleanup report
+     */
+    public Report deleteAll(SalesforceApiClient apiClient, int concurrency) {
+        return delete(apiClient, concurrency, entry -> true);
+    }
+
+    /**
+     * Deletes the selected records and removes them from the registry. The lock is not held while deleting,
+     * so parallel runs keep registering; the registry is re-read before it is rewritten, keeping their lines.
+     */
+    private Report delete(SalesforceApiClient apiClient, int concurrency, Predicate<Map<String, String>> selected) {
+        long startNanos = System.nanoTime();
+        Map<String, Set<String>> records = withLock(() -> recordsOf(read(), selected));
+        Report report = new Report();
+        if (records.isEmpty()) {
+            return report;
+        }
+        List<String> types = new ArrayList<>(DELETION_ORDER);
+        for (String type : records.keySet()) {
+            if (!types.contains(type)) {
+                // Unknown types may be children of the known ones, so they go first
+                types.add(0, type);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, concurrency), runnable -> {
+            Thread thread = new Thread(runnable, "record-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (String type : types) {
+                List<String> ids = new ArrayList<>(records.getOrDefault(type, Collections.emptySet()));
+                List<CompletableFuture<Void>> batches = new ArrayList<>();
+                for (int from = 0; from < ids.size(); from += MAX_BATCH_SIZE) {
+                    List<String> batch = ids.subList(from, Math.min(ids.size(), from + MAX_BATCH_SIZE));
+                    batches.add(CompletableFuture.runAsync(() -> deleteBatch(apiClient, type, batch, report), executor));
+                }
+                // Parents only after all their children are gone
+                CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        report.elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        withLock(() -> {
+            List<Map<String, String>> remaining = new ArrayList<>();
+            for (Map<String, String> entry : read()) {
+                String type = entry.get("type");
+                boolean deleted = records.getOrDefault(type, Collections.emptySet()).contains(entry.get("id"))
+                        && !report.failures.getOrDefault(type, Collections.emptyMap()).containsKey(entry.get("id"));
+                if (!deleted) {
+                    remaining.add(entry);
+                }
+            }
+            write(remaining);
+            return null;
+        });
+        return report;
+    }
+
+    private void deleteBatch(SalesforceApiClient apiClient, String type, List<String> ids, Report report) {
+        report.attempted(type, ids.size());
+        List<Map<String, Object>> results;
+        try {
+            results = (List<Map<String, Object>>) apiClient.delete("/composite/sobjects?allOrNone=false&ids=" + String.join(",", ids));
+        } catch (RuntimeException e) {
+            ids.forEach(id -> report.failed(type, id, e.getMessage()));
+            return;
+        }
+        // Results are positional; a failed row may carry no id
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (i >= results.size()) {
+                report.failed(type, id, "no result returned");
+                continue;
+            }
+            Map<String, Object> result = results.get(i);
+            List<Map<String, Object>> errors = (List<Map<String, Object>>) result.getOrDefault("errors", Collections.emptyList());
+            if (Boolean.TRUE.equals(result.get("success"))
+                    || errors.stream().anyMatch(error -> GONE_STATUS_CODES.contains(String.valueOf(error.get("statusCode"))))) {
+                report.deleted(type);
+            } else {
+                report.failed(type, id, errors.isEmpty() ? "unknown error" : String.valueOf(errors.get(0).get("message")));
+            }
+        }
+    }
+
+    private static Map<String, Set<String>> recordsOf(List<Map<String, String>> entries, Predicate<Map<String, String>> selected) {
+        Map<String, Set<String>> records = new LinkedHashMap<>();
+        for (Map<String, String> entry : entries) {
+            if (selected.test(entry)) {
+                records.computeIfAbsent(entry.get("type"), type -> new LinkedHashSet<>()).add(entry.get("id"));
+            }
+        }
+        return records;
+    }
+
+    private List<Map<String, String>> read() throws IOException {
+        List<Map<String, String>> entries = new ArrayList<>();
+        if (!Files.exists(registryFile)) {
+            return entries;
+        }
+        for (String line : Files.readAllLines(registryFile, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                entries.add(OBJECT_MAPPER.readValue(line, Map.class));
+            }
+        }
+        return entries;
+    }
+
+    private void write(List<Map<String, String>> entries) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (Map<String, String> entry : entries) {
+            lines.add(OBJECT_MAPPER.writeValueAsString(entry));
+        }
+        Path tempFile = Files.createTempFile(registryFile.getParent(), registryFile.getFileName().toString(), ".tmp");
+        Files.write(tempFile, lines, StandardCharsets.UTF_8);
+        Files.move(tempFile, registryFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Runs a read or write of the registry file holding the registry lock, shared with other runs through a lock file.
+     */
+    private <T> T withLock(IOAction<T> action) {
+        ReentrantLock jvmLock = JVM_LOCKS.computeIfAbsent(registryFile, path -> new ReentrantLock());
+        jvmLock.lock();
+        try {
+            Files.createDirectories(registryFile.getParent());
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                return action.run();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to update cleanup registry " + registryFile, e);
+        } finally {
+            jvmLock.unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOAction<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * Outcome of a cleanup: counts per sObject type, failed records and throughput.
+     */
+    public static final class Report {
+
+        private final Map<String, AtomicInteger> attempted = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> deleted = new ConcurrentHashMap<>();
+        private final Map<String, Map<String, String>> failures = new ConcurrentHashMap<>();
+        private Duration elapsed = Duration.ZERO;
+
+        private void attempted(String type, int count) {
+            attempted.computeIfAbsent(type, key -> new AtomicInteger()).addAndGet(count);
+        }
+
+        private void deleted(String type) {
+            deleted.computeIfAbsent(type, key -> new AtomicInteger()).incrementAndGet();
+        }
+
+        private void failed(String type, String id, String message) {
+            failures.computeIfAbsent(type, key -> new ConcurrentHashMap<>()).put(id, message);
+        }
+
+        /**
+         * @return number of records deleted (or already gone)
+         */
+        public int getDeletedCount() {
+            return deleted.values().stream().mapToInt(AtomicInteger::get).sum();
+        }
+
+        /**
+         * @return number of records that could not be deleted
+         */
+        public int getFailedCount() {
+            return failures.values().stream().mapToInt(Map::size).sum();
+        }
+
+        /**
+         * @return failure message by record ID, per sObject type
+         */
+        public Map<String, Map<String, String>> getFailures() {
+            return failures;
+        }
+
+        /**
+         * @return time taken by the cleanup
+         */
+        public Duration getElapsed() {
+            return elapsed;
+        }
+
+        @Override
+        public String toString() {
+            long millis = Math.max(1, elapsed.toMillis());
+            StringBuilder summary = new StringBuilder()
+                    .append("Deleted ").append(getDeletedCount()).append(" of ")
+                    .append(attempted.values().stream().mapToInt(AtomicInteger::get).sum())
+                    .append(" records in ").append(elapsed.toMillis()).append(" ms (")
+                    .append(getDeletedCount() * 1000L / millis).append(" records/s)");
+            for (String type : attempted.keySet()) {
+                summary.append("; ").append(type).append(": ")
+                        .append(deleted.getOrDefault(type, new AtomicInteger()).get()).append('/')
+                        .append(attempted.get(type).get());
+            }
+            if (!failures.isEmpty()) {
+                summary.append("; failures: ").append(failures);
+            }
+            return summary.toString();
+        }
+    }
+}
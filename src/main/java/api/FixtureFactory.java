@@ -0,0 +1,175 @@
+package api;
+
+import util.RunDataStore;
+import util.UniqueIdGenerator;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seeds the Account, Contact and Opportunity a quote test needs through the REST API instead of the UI.
+ * All three records are created in one sObject tree request, with the field values of the accounts,
+ * contacts and opportunities sections of testData.json; the apiFields section maps the remaining
+ * (custom) fields of a section to their API names. Names and record IDs go to the run-data store.
+ */
+public class FixtureFactory {
+
+    private static final String RECORD_TYPE_QUERY =
+            "SELECT Id, SobjectType, Name FROM RecordType WHERE SobjectType IN ('Account', 'Opportunity') AND IsActive = true";
+
+    private final SalesforceApiClient apiClient;
+    private final Map<String, Object> testData;
+    private final DateTimeFormatter dateFormat;
+    private final RunDataStore runDataStore;
+    private final String scope;
+
+    /**
+     * Creates a fixture factory.
+     * @param apiClient    Authenticated REST API client
+     * @param testData     Test data (testData.json)
+     * @param dateFormat   Format of the dates in the test data (e.g. dd/MM/yyyy)
+     * @param runDataStore Store the created names and IDs are written to
+     * @param scope        Run data scope of the calling worker
+     */
+    public FixtureFactory(SalesforceApiClient apiClient, Map<String, Object> testData, String dateFormat,
+                          RunDataStore runDataStore, String scope) {
+        this.apiClient = apiClient;
+        this.testData = testData;
+        this.dateFormat = DateTimeFormatter.ofPattern(dateFormat);
+        this.runDataStore = runDataStore;
+        this.scope = scope;
+    }
+
+    /**
+     * Creates an Account with a Contact and an Opportunity in one request.
+     * @param accountName     Account name
+     * @param firstName       Contact first name
+     * @param lastName        Contact last name
+     * @param email           Contact email
+     * @param opportunityName Opportunity name
+     * @param closeDate       Opportunity close date, in the test data date format
+     * @return the run data written: names plus accountId, contactId and opportunityId
+     */
+    public Map<String, String> createAccountWithContactAndOpportunity(String accountName, String firstName,
+                                                                      String lastName, String email,
+                                                                      String opportunityName, String closeDate) {
+        Map<String, String> runData = createRecords(accountName, firstName, lastName, email, opportunityName, closeDate);
+        runDataStore.putAll(scope, runData);
+        return runData;
+    }
+
+    /**
+     * Creates an Account with a Contact and an Opportunity under newly generated unique names,
+     * without writing them to the run-data store (e.g. to stock a {@link FixturePool}).
+     * @param closeDate Opportunity close date, in the test data date format
+     * @return names plus accountId, contactId and opportunityId
+     */
+    public Map<String, String> createUniqueRecords(String closeDate) {
+        UniqueIdGenerator idGenerator = UniqueIdGenerator.getDefault();
+        String accountName = idGenerator.next("AN");
+        return createRecords(accountName, idGenerator.next("FN"), idGenerator.next("LN"), accountName + "@yext.com",
+                idGenerator.next("ON"), closeDate);
+    }
+
+    private Map<String, String> createRecords(String accountName, String firstName, String lastName, String email,
+                                              String opportunityName, String closeDate) {
+        Map<String, Object> accountData = section("accounts");
+        Map<String, Object> contactData = section("contacts");
+        Map<String, Object> opportunityData = section("opportunities");
+        Map<String, String> recordTypeIds = queryRecordTypeIds();
+
+        Map<String, Object> contact = record("Contact", "contact");
+        contact.put("Salutation", contactData.get("salutationText"));
+        contact.put("FirstName", firstName);
+        contact.put("LastName", lastName);
+        contact.put("Email", email);
+        contact.put("LeadSource", contactData.get("leadSource"));
+        putApiFields(contact, "contacts", contactData);
+
+        Map<String, Object> opportunity = record("Opportunity", "opportunity");
+        opportunity.put("Name", opportunityName);
+        opportunity.put("RecordTypeId", recordTypeId(recordTypeIds, "Opportunity", opportunityData.get("recordType")));
+        opportunity.put("StageName", opportunityData.get("stage"));
+        opportunity.put("CloseDate", LocalDate.parse(closeDate, dateFormat).toString());
+        opportunity.put("CurrencyIsoCode", currencyCode(opportunityData.get("opportunityCurrency")));
+        putApiFields(opportunity, "opportunities", opportunityData);
+
+        Map<String, Object> account = record("Account", "account");
+        account.put("Name", accountName);
+        account.put("RecordTypeId", recordTypeId(recordTypeIds, "Account", accountData.get("recordType")));
+        account.put("CurrencyIsoCode", currencyCode(accountData.get("accountCurrency")));
+        account.put("AccountSource", accountData.get("accountSource"));
+        putApiFields(account, "accounts", accountData);
+        account.put("Contacts", Map.of("records", List.of(contact)));
+        account.put("Opportunities", Map.of("records", List.of(opportunity)));
+
+        Map<String, Object> response = apiClient.post("/composite/tree/Account", Map.of("records", List.of(account)));
+        Map<String, String> ids = new HashMap<>();
+        for (Map<String, Object> result : (List<Map<String, Object>>) response.get("results")) {
+            ids.put(result.get("referenceId").toString(), String.valueOf(result.get("id")));
+        }
+        if (Boolean.TRUE.equals(response.get("hasErrors")) || ids.size() != 3) {
+            throw new RuntimeException("Failed to create fixtures for account " + accountName + ": " + response);
+        }
+
+        Map<String, String> runData = new LinkedHashMap<>();
+        runData.put("accountName", accountName);
+        runData.put("firstName", firstName);
+        runData.put("lastName", lastName);
+        runData.put("contactName", firstName + " " + lastName);
+        runData.put("email", email);
+        runData.put("opportunityName", opportunityName);
+        runData.put("accountId", ids.get("account"));
+        runData.put("contactId", ids.get("contact"));
+        runData.put("opportunityId", ids.get("opportunity"));
+        return runData;
+    }
+
+    private Map<String, String> queryRecordTypeIds() {
+        Map<String, String> recordTypeIds = new HashMap<>();
+        for (Map<String, Object> recordType : (List<Map<String, Object>>) apiClient.query(RECORD_TYPE_QUERY).get("records")) {
+            recordTypeIds.put(recordType.get("SobjectType") + "." + recordType.get("Name"), recordType.get("Id").toString());
+        }
+        return recordTypeIds;
+    }
+
+    private static String recordTypeId(Map<String, String> recordTypeIds, String sObjectType, Object recordTypeName) {
+        String id = recordTypeIds.get(sObjectType + "." + recordTypeName);
+        if (id == null) {
+            throw new RuntimeException("No active " + sObjectType + " record type named '" + recordTypeName + "'");
+        }
+        return id;
+    }
+
+    /**
+     * Maps the picklist label used in the UI (e.g. "USD - U.S. Dollar") to the ISO code the API expects.
+     */
+    private static String currencyCode(Object currencyLabel) {
+        String label = String.valueOf(currencyLabel);
+        int separator = label.indexOf(" - ");
+        return separator > 0 ? label.substring(0, separator) : label;
+    }
+
+    private void putApiFields(Map<String, Object> record, String sectionName, Map<String, Object> sectionData) {
+        Map<String, Object> apiFields = (Map<String, Object>) section("apiFields").getOrDefault(sectionName, Collections.emptyMap());
+        apiFields.forEach((testDataKey, apiName) -> record.put(apiName.toString(), sectionData.get(testDataKey)));
+    }
+
+    private Map<String, Object> section(String name) {
+        return (Map<String, Object>) testData.getOrDefault(name, Collections.emptyMap());
+    }
+
+    private static Map<String, Object> record(String sObjectType, String referenceId) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("type", sObjectType);
+        attributes.put("referenceId", referenceId);
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("attributes", attributes);
+        return record;
+    }
+}
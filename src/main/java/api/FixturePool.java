@@ -0,0 +1,266 @@
+package api;
+
+import util.JsonUtil;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Stock of ready-made Account → Contact → Opportunity chains, recorded in a pool file shared by
+ * parallel workers and concurrent runs. A chain is handed to one worker at a time: every lease, return
+ * and retirement is a read-modify-write of the file under an exclusive file lock. Leasing tops the stock
+ * back up in the background, so tests take a chain without waiting for its creation.
+ *
+ * <p>File format: {@code {"fixtures": [{"id", "state": AVAILABLE|LEASED, "owner", "updatedAt", "runData": {...}}]}}.
+ * Retired chains are removed from the file; leases older than the lease timeout (a crashed run) are retired too.
+ */
+public class FixturePool implements AutoCloseable {
+
+    private static final String AVAILABLE = "AVAILABLE";
+    private static final String LEASED = "LEASED";
+
+    // File locks are held per JVM, so threads of this JVM also queue on a lock of their own
+    private static final Map<Path, ReentrantLock> JVM_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path poolFile;
+    private final Path lockFile;
+    private final int stockSize;
+    private final Duration leaseTimeout;
+    private final Supplier<Map<String, String>> fixtureCreator;
+    private final String owner = UUID.randomUUID().toString();
+
+    private final Set<String> heldLeases = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger creating = new AtomicInteger();
+    private final ExecutorService replenishExecutor;
+
+    /**
+     * Creates a fixture pool.
+     * @param poolFile       Path of the pool file
+     * @param stockSize      Number of available chains to keep in stock
+     * @param replenishers   Maximum number of chains created concurrently in the background
+     * @param leaseTimeout   Age after which a lease counts as abandoned
+     * @param fixtureCreator Creates one chain, returning its run data (names and record IDs)
+     */
+    public FixturePool(Path poolFile, int stockSize, int replenishers, Duration leaseTimeout,
+                       Supplier<Map<String, String>> fixtureCreator) {
+        this.poolFile = poolFile.toAbsolutePath();
+        this.lockFile = Paths.get(this.poolFile + ".lock");
+        this.stockSize = Math.max(0, stockSize);
+        this.leaseTimeout = leaseTimeout;
+        this.fixtureCreator = fixtureCreator;
+        this.replenishExecutor = Executors.newFixedThreadPool(Math.max(1, replenishers), runnable -> {
+            Thread thread = new Thread(runnable, "fixture-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Leases an available chain, creating one on the calling thread if the stock is empty,
+     * and tops the stock up in the background.
+     * @return the leased chain
+     */
+    public Lease lease() {
+        Lease lease = update(fixtures -> {
+            for (Map<String, Object> fixture : fixtures) {
+                if (AVAILABLE.equals(fixture.get("state"))) {
+                    fixture.put("state", LEASED);
+                    fixture.put("owner", owner);
+                    fixture.put("updatedAt", System.currentTimeMillis());
+                    return new Lease(fixture.get("id").toString(), (Map<String, String>) fixture.get("runData"));
+                }
+            }
+            return null;
+        });
+        if (lease == null) {
+            Map<String, Object> fixture = newFixture(fixtureCreator.get(), LEASED);
+            update(fixtures -> fixtures.add(fixture));
+            lease = new Lease(fixture.get("id").toString(), (Map<String, String>) fixture.get("runData"));
+        }
+        heldLeases.add(lease.getId());
+        replenish();
+        return lease;
+    }
+
+    /**
+     * Hands an unused chain back to the stock.
+     * @param lease Lease to return
+     */
+    public void giveBack(Lease lease) {
+        heldLeases.remove(lease.getId());
+        update(fixtures -> {
+            for (Map<String, Object> fixture : fixtures) {
+                if (lease.getId().equals(fixture.get("id"))) {
+                    fixture.put("state", AVAILABLE);
+                    fixture.remove("owner");
+                    fixture.put("updatedAt", System.currentTimeMillis());
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Removes a used chain from the pool for good.
+     * @param lease Lease to retire
+     */
+    public void retire(Lease lease) {
+        heldLeases.remove(lease.getId());
+        update(fixtures -> fixtures.removeIf(fixture -> lease.getId().equals(fixture.get("id"))));
+    }
+
+    /**
+     * Starts background creation of the chains missing from the stock.
+     */
+    public void replenish() {
+        int missing = update(fixtures -> {
+            long available = fixtures.stream().filter(fixture -> AVAILABLE.equals(fixture.get("state"))).count();
+            int count = (int) Math.max(0, stockSize - available - creating.get());
+            creating.addAndGet(count);
+            return count;
+        });
+        for (int i = 0; i < missing; i++) {
+            replenishExecutor.execute(() -> {
+                try {
+                    Map<String, Object> fixture = newFixture(fixtureCreator.get(), AVAILABLE);
+                    update(fixtures -> fixtures.add(fixture));
+                } catch (RuntimeException e) {
+                    System.out.println("Failed to create a pooled fixture: " + e.getMessage());
+                } finally {
+                    creating.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Retires the chains still leased by this pool and waits for running creations to reach the file.
+     * @param timeout Maximum wait for running creations
+     */
+    public void close(Duration timeout) {
+        replenishExecutor.shutdown();
+        try {
+            replenishExecutor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!heldLeases.isEmpty()) {
+            update(fixtures -> fixtures.removeIf(fixture -> heldLeases.contains(fixture.get("id"))));
+            heldLeases.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        close(Duration.ZERO);
+    }
+
+    /**
+     * @return number of available chains in the pool file
+     */
+    public int availableCount() {
+        return update(fixtures -> (int) fixtures.stream().filter(fixture -> AVAILABLE.equals(fixture.get("state"))).count());
+    }
+
+    /**
+     * Reads the pool file, applies the change and writes the file back, holding the pool lock throughout.
+     */
+    private <T> T update(Function<List<Map<String, Object>>, T> change) {
+        ReentrantLock jvmLock = JVM_LOCKS.computeIfAbsent(poolFile, path -> new ReentrantLock());
+        jvmLock.lock();
+        try {
+            Files.createDirectories(poolFile.getParent());
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                List<Map<String, Object>> fixtures = read();
+                int hash = fixtures.hashCode();
+                retireAbandonedLeases(fixtures);
+                T result = change.apply(fixtures);
+                if (fixtures.hashCode() != hash) {
+                    Map<String, Object> content = new LinkedHashMap<>();
+                    content.put("fixtures", fixtures);
+                    JsonUtil.writeObjectToJsonFileAtomically(poolFile.toString(), content);
+                }
+                return result;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to update fixture pool: " + poolFile, e);
+        } finally {
+            jvmLock.unlock();
+        }
+    }
+
+    private List<Map<String, Object>> read() {
+        if (!Files.exists(poolFile)) {
+            return new ArrayList<>();
+        }
+        Object fixtures = JsonUtil.readJsonFileToMap(poolFile.toString()).get("fixtures");
+        return fixtures != null ? new ArrayList<>((List<Map<String, Object>>) fixtures) : new ArrayList<>();
+    }
+
+    private void retireAbandonedLeases(List<Map<String, Object>> fixtures) {
+        long expiredBefore = System.currentTimeMillis() - leaseTimeout.toMillis();
+        fixtures.removeIf(fixture -> LEASED.equals(fixture.get("state"))
+                && ((Number) fixture.get("updatedAt")).longValue() < expiredBefore);
+    }
+
+    private Map<String, Object> newFixture(Map<String, String> runData, String state) {
+        Map<String, Object> fixture = new LinkedHashMap<>();
+        fixture.put("id", UUID.randomUUID().toString());
+        fixture.put("state", state);
+        if (LEASED.equals(state)) {
+            fixture.put("owner", owner);
+        }
+        fixture.put("updatedAt", System.currentTimeMillis());
+        fixture.put("runData", new LinkedHashMap<>(runData));
+        return fixture;
+    }
+
+    /**
+     * A chain leased to the calling worker.
+     */
+    public static final class Lease {
+
+        private final String id;
+        private final Map<String, String> runData;
+
+        private Lease(String id, Map<String, String> runData) {
+            this.id = id;
+            this.runData = runData;
+        }
+
+        /**
+         * @return the pool ID of the chain
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * @return names and record IDs of the chain (accountName, ..., opportunityId)
+         */
+        public Map<String, String> getRunData() {
+            return runData;
+        }
+    }
+}
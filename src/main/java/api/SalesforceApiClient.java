@@ -0,0 +1,191 @@
+package api;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Minimal Salesforce REST API client (SOQL query, POST, DELETE) on java.net.http.
+ * Used to seed and clean up test records without driving the UI.
+ */
+public class SalesforceApiClient {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    private final HttpClient httpClient;
+    private final URI instanceUrl;
+    private final String accessToken;
+    private final String apiVersion;
+    private final Duration timeout;
+
+    /**
+     * Creates a client for an authenticated session.
+     * @param instanceUrl Instance URL (e.g. https://mydomain.my.salesforce.com)
+     * @param accessToken OAuth access token or session ID
+     * @param apiVersion  REST API version (e.g. 59.0)
+     * @param timeout     Timeout of a single request
+     */
+    public SalesforceApiClient(URI instanceUrl, String accessToken, String apiVersion, Duration timeout) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.instanceUrl = instanceUrl;
+        this.accessToken = accessToken;
+        this.apiVersion = apiVersion;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Checks whether config holds API credentials: an apiAccessToken, or an apiClientId and apiClientSecret.
+     * @param config Configuration properties
+     * @return true if {@link #fromConfig(Properties)} can authenticate, false otherwise
+     */
+    public static boolean isConfigured(Properties config) {
+        return !config.getProperty("apiAccessToken", "").isBlank()
+                || (!config.getProperty("apiClientId", "").isBlank() && !config.getProperty("apiClientSecret", "").isBlank());
+    }
+
+    /**
+     * Creates a client from config: the apiInstanceUrl and apiAccessToken of an existing session when set,
+     * otherwise an OAuth username-password login with apiClientId and apiClientSecret against the login url.
+     * @param config Configuration properties
+     * @return the authenticated client
+     */
+    public static SalesforceApiClient fromConfig(Properties config) {
+        String apiVersion = config.getProperty("apiVersion");
+        Duration timeout = Duration.ofSeconds(Integer.parseInt(config.getProperty("maxWait")));
+        String accessToken = config.getProperty("apiAccessToken", "").trim();
+        if (!accessToken.isEmpty()) {
+            return new SalesforceApiClient(URI.create(config.getProperty("apiInstanceUrl").trim()), accessToken,
+                    apiVersion, timeout);
+        }
+        return login(URI.create(config.getProperty("url").trim()), config.getProperty("apiClientId").trim(),
+                config.getProperty("apiClientSecret").trim(), config.getProperty("username").trim(),
+                config.getProperty("password").trim() + config.getProperty("apiSecurityToken", "").trim(),
+                apiVersion, timeout);
+    }
+
+    /**
+     * Logs in with the OAuth username-password flow.
+     * @param loginUrl     Login host (e.g. https://test.salesforce.com/)
+     * @param clientId     Consumer key of the connected app
+     * @param clientSecret Consumer secret of the connected app
+     * @param username     Salesforce username
+     * @param password     Password, followed by the security token if the org requires one
+     * @param apiVersion   REST API version
+     * @param timeout      Timeout of a single request
+     * @return the authenticated client
+     */
+    public static SalesforceApiClient login(URI loginUrl, String clientId, String clientSecret, String username,
+                                            String password, String apiVersion, Duration timeout) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("grant_type", "password");
+        form.put("client_id", clientId);
+        form.put("client_secret", clientSecret);
+        form.put("username", username);
+        form.put("password", password);
+        String body = form.entrySet().stream()
+                .map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        HttpRequest request = HttpRequest.newBuilder(loginUrl.resolve("/services/oauth2/token"))
+                .timeout(timeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        Map<String, Object> token = send(HttpClient.newBuilder().connectTimeout(timeout).build(), request);
+        return new SalesforceApiClient(URI.create(token.get("instance_url").toString()),
+                token.get("access_token").toString(), apiVersion, timeout);
+    }
+
+    /**
+     * Runs a SOQL query (first page of results).
+     * @param soql SOQL query
+     * @return the query response (totalSize, done, records)
+     */
+    public Map<String, Object> query(String soql) {
+        return send(httpClient, request("/query?q=" + URLEncoder.encode(soql, StandardCharsets.UTF_8)).GET().build());
+    }
+
+    /**
+     * POSTs a JSON body to a path of the versioned REST API.
+     * @param path Path below /services/data/vXX.X (e.g. /composite/tree/Account)
+     * @param body Jackson-serializable body
+     * @return the response body
+     */
+    public Map<String, Object> post(String path, Object body) {
+        return send(httpClient, request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body)))
+                .build());
+    }
+
+    /**
+     * Sends a DELETE to a path of the versioned REST API.
+     * @param path Path below /services/data/vXX.X, including any query string
+     * @return the response body (empty for 204 No Content)
+     */
+    public Object delete(String path) {
+        HttpRequest request = request(path).DELETE().build();
+        String body = sendForBody(httpClient, request);
+        if (body.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(body, Object.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid JSON response from " + request.uri(), e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(instanceUrl.resolve("/services/data/v" + apiVersion + path))
+                .timeout(timeout)
+                .header("Authorization", "Bearer " + accessToken)
+                .header("Accept", "application/json");
+    }
+
+    private static Map<String, Object> send(HttpClient client, HttpRequest request) {
+        try {
+            return OBJECT_MAPPER.readValue(sendForBody(client, request), JSON_OBJECT);
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid JSON response from " + request.uri(), e);
+        }
+    }
+
+    private static String sendForBody(HttpClient client, HttpRequest request) {
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new RuntimeException("Request to " + request.uri() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during request to " + request.uri(), e);
+        }
+        if (response.statusCode() >= 300) {
+            throw new RuntimeException(request.method() + " " + request.uri().getPath() + " failed with HTTP "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static String toJson(Object body) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot serialize request body", e);
+        }
+    }
+}
@@ -1,21 +1,37 @@
 package base;
 
+import api.CleanupRegistry;
+import api.FixtureFactory;
+import api.FixturePool;
+import api.SalesforceApiClient;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.support.PageFactory;
+import util.DateUtil;
 import util.JsonUtil;
+import util.RunDataStore;
+import util.SessionSnapshotCache;
+import util.UniqueIdGenerator;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * BaseTest class provides setup and teardown for WebDriver and reporting.
@@ -23,44 +39,377 @@ import java.util.Properties;
 public class BaseTest {
 
     protected static Properties configProperties;
-    protected static WebDriver webDriver;
 
     protected static ExtentSparkReporter extentSparkReporter;
     protected static ExtentReports extentReports;
-    protected static ExtentTest extentTest;
 
+    protected static DriverPool driverPool;
+
+    // Suite bootstrap timings, used to measure time-to-first-test
+    protected static long suiteStartNanos;
+    private static final AtomicBoolean firstTestStarted = new AtomicBoolean();
+
+    // Read-only after setUp, shared by all worker threads
     protected static Map<String, Object> testData;
     protected static String uniqueTestDataFilePath;
+    protected static RunDataStore runDataStore;
+
+    // Parallel data-provider workers of the suite, each leasing its own pooled session
+    private static int dataProviderThreadCount = 1;
+
+    // Created on first use, only by suites seeding their records through the API
+    private static FixturePool fixturePool;
+
+    // Created on first use, records every test record to delete after the run
+    private static CleanupRegistry cleanupRegistry;
+
+    // Record page URL, e.g. /lightning/r/Account/001xx000003DGb2AAG/view
+    private static final Pattern RECORD_URL = Pattern.compile("/lightning/r/(?:\\w+/)?(\\w{18}|\\w{15})/view");
+
+    /**
+     * Returns the WebDriver owned by the current thread.
+     * @return WebDriver of the current execution context
+     */
+    protected static WebDriver getWebDriver() {
+        return ExecutionContext.current().getWebDriver();
+    }
+
+    /**
+     * Returns the frame tracking of the current thread's WebDriver.
+     * @return FrameContext of the current execution context
+     */
+    protected static FrameContext getFrameContext() {
+        return ExecutionContext.current().getFrameContext();
+    }
+
+    /**
+     * Returns the page object of the given type for the current thread's WebDriver,
+     * creating it on first use in the session.
+     * @param pageClass Page object class
+     * @return the page object
+     */
+    protected static <T> T getPage(Class<T> pageClass) {
+        return ExecutionContext.current().getPageRegistry().get(pageClass);
+    }
 
     /**
-     * Initializes the WebDriver based on the browser specified in config.
+     * Returns the SeleniumLib shared by the page objects of the current thread's WebDriver.
+     * @return SeleniumLib of the current session
+     */
+    protected static SeleniumLib getSeleniumLib() {
+        return ExecutionContext.current().getPageRegistry().getSeleniumLib();
+    }
+
+    /**
+     * Returns the Common actions shared by the page objects of the current thread's WebDriver.
+     * @return Common of the current session
+     */
+    protected static Common getCommon() {
+        return ExecutionContext.current().getPageRegistry().getCommon();
+    }
+
+    /**
+     * Returns the report node of the current thread.
+     * @return ExtentTest of the current execution context
+     */
+    protected static ExtentTest getExtentTest() {
+        return ExecutionContext.current().getExtentTest();
+    }
+
+    /**
+     * Returns the report log of the current thread; entries go to its current report node without blocking the test.
+     * @return ReportLog of the current execution context
+     */
+    protected static ReportLog getReportLog() {
+        return ExecutionContext.current().getReportLog();
+    }
+
+    /**
+     * Sets the report node of the current thread.
+     * @param extentTest ExtentTest node created for the running test
+     */
+    protected static void setExtentTest(ExtentTest extentTest) {
+        ExecutionContext.current().setExtentTest(extentTest);
+    }
+
+    /**
+     * Reads a run data value produced by the current thread's test chain,
+     * falling back to the chain that wrote last (in this run or, from the file, an earlier one).
+     * The fallback chain is resolved once per worker, so all values it reads come from the same chain.
+     * @param key Run data key (e.g. accountName)
+     * @return the value, or null if not present
+     */
+    protected static String getRunDataValue(String key) {
+        ExecutionContext context = ExecutionContext.current();
+        String value = runDataStore.get(context.getRunDataScope(), key);
+        if (value != null) {
+            return value;
+        }
+        if (context.getRunDataFallbackScope() == null) {
+            context.setRunDataFallbackScope(runDataStore.getLatestScope(context.getRunDataScope()));
+        }
+        return runDataStore.get(context.getRunDataFallbackScope(), key);
+    }
+
+    /**
+     * Stores run data values of the current thread's test chain; the file is updated in the background.
+     * @param values Run data key to value
+     */
+    protected static void putRunData(Map<String, String> values) {
+        runDataStore.putAll(ExecutionContext.current().getRunDataScope(), values);
+    }
+
+    /**
+     * Returns the pool of pre-created Account → Contact → Opportunity chains, creating it on first use.
+     * @return the FixturePool of this run
+     */
+    protected static synchronized FixturePool getFixturePool() {
+        if (fixturePool == null) {
+            FixtureFactory fixtureFactory = new FixtureFactory(SalesforceApiClient.fromConfig(configProperties), testData,
+                    configProperties.getProperty("dateFormat"), runDataStore, ExecutionContext.current().getRunDataScope());
+            fixturePool = new FixturePool(
+                    Paths.get(System.getProperty("user.dir") + configProperties.getProperty("fixturePoolFile")),
+                    Integer.parseInt(configProperties.getProperty("fixturePoolSize")),
+                    Integer.parseInt(configProperties.getProperty("fixturePoolReplenishers")),
+                    Duration.ofMinutes(Long.parseLong(configProperties.getProperty("fixturePoolLeaseTimeoutMinutes"))),
+                    () -> fixtureFactory.createUniqueRecords(getOpportunityCloseDate()));
+        }
+        return fixturePool;
+    }
+
+    /**
+     * Returns the registry of the records created by this run, creating it on first use.
+     * @return the CleanupRegistry of the configured registry file
+     */
+    protected static synchronized CleanupRegistry getCleanupRegistry() {
+        if (cleanupRegistry == null) {
+            cleanupRegistry = new CleanupRegistry(
+                    Paths.get(System.getProperty("user.dir") + configProperties.getProperty("cleanupRegistryFile")),
+                    UniqueIdGenerator.getDefault().getRunId());
+        }
+        return cleanupRegistry;
+    }
+
+    /**
+     * Registers a record created by a test for deletion after the run.
+     * @param sObjectType sObject type (e.g. Account, SBQQ__Quote__c)
+     * @param id          Record ID
+     */
+    protected static void registerCreatedRecord(String sObjectType, String id) {
+        getCleanupRegistry().register(sObjectType, id);
+    }
+
+    /**
+     * Registers the record open in the current thread's browser (the record page shown after a save)
+     * for deletion after the run.
+     * @param sObjectType sObject type of the record (e.g. Account, SBQQ__Quote__c)
+     * @return the record ID, or null if no record page is open
+     */
+    protected static String registerCreatedRecord(String sObjectType) {
+        String currentUrl = getWebDriver().getCurrentUrl();
+        Matcher matcher = RECORD_URL.matcher(currentUrl);
+        if (!matcher.find()) {
+            getReportLog().warning("No " + sObjectType + " record page open, not registered for cleanup: " + currentUrl);
+            return null;
+        }
+        registerCreatedRecord(sObjectType, matcher.group(1));
+        return matcher.group(1);
+    }
+
+    /**
+     * Deletes registered records through the REST API and reports the outcome;
+     * records that could not be deleted stay registered for the next cleanup.
+     * @param thisRunOnly true to delete only the records of this run, false for those of all runs
+     * @return the cleanup report
+     */
+    public CleanupRegistry.Report cleanUpRecords(boolean thisRunOnly) {
+        SalesforceApiClient apiClient = SalesforceApiClient.fromConfig(configProperties);
+        int concurrency = Integer.parseInt(configProperties.getProperty("cleanupConcurrency"));
+        CleanupRegistry.Report report = thisRunOnly
+                ? getCleanupRegistry().deleteRun(apiClient, concurrency)
+                : getCleanupRegistry().deleteAll(apiClient, concurrency);
+        System.out.println("Record cleanup: " + report);
+        if (extentReports != null) {
+            ExtentTest cleanupNode = ReportLog.createTest("Record Cleanup", "Deletes the records created by the run");
+            if (report.getFailedCount() == 0) {
+                cleanupNode.pass(report.toString());
+            } else {
+                cleanupNode.warning(report.toString());
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Returns the opportunity close date of the test data, or a date the configured number of months ahead if none is set.
+     * @return the close date in the configured date format
+     */
+    protected static String getOpportunityCloseDate() {
+        Map<String, Object> opportunityData = (Map<String, Object>) testData.get("opportunities");
+        Object closeDate = opportunityData.get("closeDate");
+        if (closeDate == null || closeDate.toString().isEmpty()) {
+            return DateUtil.getDateAfterAddingMonths(configProperties.getProperty("dateFormat"),
+                    Integer.parseInt(configProperties.getProperty("monthsToAddToCurrentDate")));
+        }
+        return closeDate.toString();
+    }
+
+    /**
+     * Initializes the @FindBy fields of a page object. Fields wait explicitly for their element,
+     * since drivers run without implicit wait, and keep it until it goes stale. Every field call
+     * first focuses the driver on the frame the page declares with {@link PageFrame}.
+     * @param page Page object to initialize
+     */
+    protected static void initElements(Object page) {
+        By frame = FrameContext.frameOf(page.getClass());
+        Runnable enterFrame = () -> getCommon().enterFrame(frame);
+        PageFactory.initElements(new CachingFieldDecorator(new ExplicitWaitElementLocatorFactory(getWebDriver(),
+                Duration.ofSeconds(Integer.parseInt(configProperties.getProperty("explicitWait"))), enterFrame),
+                enterFrame), page);
+    }
+
+    /**
+     * Focuses the driver on the frame this page declares with {@link PageFrame}, or on default content
+     * for pages without one, switching only when it is focused elsewhere. Page actions call it before
+     * locator based lookups and components; @FindBy fields do it themselves.
+     * @return the driver, focused on the page's frame
+     */
+    protected WebDriver enterPageFrame() {
+        return getCommon().enterFrame(FrameContext.frameOf(getClass()));
+    }
+
+    /**
+     * Resolves all @FindBy fields of a page in one call, for pages about to use many of them
+     * (e.g. a form that is now shown). Opt-in; fields still resolve lazily without it.
+     * @param page Page object initialized with {@link #initElements(Object)}
+     * @return number of fields bound
+     */
+    protected static int prefetchElements(Object page) {
+        getCommon().enterFrame(FrameContext.frameOf(page.getClass()));
+        return ElementPrefetch.prefetch(getWebDriver(), page);
+    }
+
+    /**
+     * Runs a page action within the maxWait budget, so all waits it performs share one {@link Deadline}
+     * instead of each starting its own timeout.
+     * @param action Page action to run
+     */
+    protected static void withinActionBudget(Runnable action) {
+        Deadline.within(Duration.ofSeconds(Integer.parseInt(configProperties.getProperty("maxWait"))), action);
+    }
+
+    /**
+     * Initializes the pool of warm browser sessions that worker threads lease their WebDriver from,
+     * and leases one for the current thread.
      */
     public void initializeWebDriver() {
+        initializeDriverBinary();
+        initializeDriverPool();
+        ExecutionContext.current().getWebDriver();
+    }
+
+    /**
+     * Points Selenium at the cached driver binary so Selenium Manager is only consulted on a cache miss.
+     */
+    public void initializeDriverBinary() {
+        createDriverBinaryCache().apply();
+    }
+
+    /**
+     * Creates the driver pool and launches its warm sessions.
+     * If the launch fails with a cached driver binary, the cache is dropped and the launch retried once,
+     * since a browser auto-update makes the cached driver incompatible.
+     */
+    public void initializeDriverPool() {
+        // Sessions are launched on demand, so a larger pool only costs browsers when workers actually run
+        driverPool = new DriverPool(this::createWebDriver,
+                Math.max(Integer.parseInt(configProperties.getProperty("driverPoolSize")), dataProviderThreadCount),
+                Integer.parseInt(configProperties.getProperty("driverPoolMaxReuse")),
+                Integer.parseInt(configProperties.getProperty("maxWait")));
+        int warmUpCount = Integer.parseInt(configProperties.getProperty("driverPoolWarmUpCount"));
+        try {
+            driverPool.warmUp(warmUpCount);
+        } catch (RuntimeException e) {
+            if (!createDriverBinaryCache().invalidate()) {
+                throw e;
+            }
+            initializeDriverBinary();
+            driverPool.warmUp(warmUpCount);
+        }
+        ExecutionContext.setDriverPool(driverPool);
+        ExecutionContext.setSessionRestorer(this::restoreSessionSnapshot);
+    }
+
+    /**
+     * Restores the cached session snapshot into a freshly leased session, so pooled and new sessions
+     * start logged in without driving the login form.
+     * @param webDriver Leased session, reset and logged out
+     * @return true if the session is now logged in
+     */
+    private boolean restoreSessionSnapshot(WebDriver webDriver) {
+        if (!SessionSnapshotCache.isEnabled()) {
+            return false;
+        }
+        try {
+            return new SessionSnapshotCache(configProperties.getProperty("username")).restore(webDriver);
+        } catch (RuntimeException e) {
+            System.out.println("Session snapshot restore failed, login form required: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private DriverBinaryCache createDriverBinaryCache() {
+        return new DriverBinaryCache(System.getProperty("user.dir") + configProperties.getProperty("driverCacheFile"),
+                configProperties.getProperty("browser"));
+    }
+
+    /**
+     * Creates a WebDriver based on the browser specified in config.
+     * @return a configured WebDriver
+     */
+    public WebDriver createWebDriver() {
+        WebDriver webDriver;
         String browser = configProperties.getProperty("browser");
+        boolean isLeanModeEnabled = LeanBrowserMode.isEnabled(configProperties);
         if ("chrome".equalsIgnoreCase(browser)) {
             ChromeOptions options = new ChromeOptions();
             if (configProperties.getProperty("isIncognitoModeEnabled").equalsIgnoreCase("true")) {
                 options.addArguments("--incognito");
                 options.addArguments("profile.default_content_setting_values.geolocation", "2");
             }
+            if (isLeanModeEnabled) {
+                LeanBrowserMode.applyArguments(options);
+            }
             webDriver = new ChromeDriver(options);
         } else if ("firefox".equalsIgnoreCase(browser)) {
             webDriver = new org.openqa.selenium.firefox.FirefoxDriver();
         } else if ("edge".equalsIgnoreCase(browser)) {
-            webDriver = new EdgeDriver();
+            EdgeOptions options = new EdgeOptions();
+            if (isLeanModeEnabled) {
+                LeanBrowserMode.applyArguments(options);
+            }
+            webDriver = new EdgeDriver(options);
         } else {
             throw new RuntimeException("Browser not supported: " + browser);
         }
 
         if (webDriver != null) {
+            if (isLeanModeEnabled) {
+                LeanBrowserMode.install(webDriver, configProperties);
+            }
+            LightningQuiescence.register(webDriver);
             webDriver.get(configProperties.getProperty("url"));
             webDriver.manage().timeouts().pageLoadTimeout(
                     Duration.ofSeconds(Integer.parseInt(configProperties.getProperty("explicitWait"))));
-            webDriver.manage().timeouts().implicitlyWait(
-                    Duration.ofSeconds(Integer.parseInt(configProperties.getProperty("implicitWait"))));
-            webDriver.manage().window().maximize();
+            // No implicit wait: it would add to every explicit wait and make absence checks slow
+            webDriver.manage().timeouts().implicitlyWait(Duration.ZERO);
+            if (!isLeanModeEnabled) {
+                // Headless lean sessions get their viewport from --window-size
+                webDriver.manage().window().maximize();
+            }
             webDriver.manage().deleteAllCookies();
         }
+        return webDriver;
     }
 
     /**
@@ -78,14 +427,35 @@ public class BaseTest {
     }
 
     /**
-     * Closes the WebDriver and flushes the report.
+     * Retires leased fixtures, deletes the records created by this run (when cleanupAfterRun is set),
+     * flushes the report and the run data and quits the pooled browser sessions.
      */
     public void tearDown() {
-        if (extentReports != null) {
-            extentReports.flush();
+        if (fixturePool != null) {
+            fixturePool.close(Duration.ofSeconds(Integer.parseInt(configProperties.getProperty("maxWait"))));
         }
-        if (webDriver != null) {
-           // webDriver.quit();
+        if (cleanupRegistry != null && Boolean.parseBoolean(configProperties.getProperty("cleanupAfterRun"))) {
+            if (!SalesforceApiClient.isConfigured(configProperties)) {
+                System.out.println("Record cleanup skipped: cleanupAfterRun is set but no API credentials "
+                        + "(apiAccessToken, or apiClientId and apiClientSecret) are configured; "
+                        + "the records stay registered for base.RecordCleanup");
+            } else {
+                try {
+                    cleanUpRecords(true);
+                } catch (RuntimeException e) {
+                    // Records stay registered, a separate cleanup run deletes them
+                    System.out.println("Record cleanup failed: " + e.getMessage());
+                }
+            }
+        }
+        // Attaches the entries still buffered before the final flush
+        ReportLog.stop();
+        if (runDataStore != null) {
+            runDataStore.flush(Integer.parseInt(configProperties.getProperty("maxWait")));
+        }
+        if (driverPool != null) {
+            driverPool.shutdown();
+            ExecutionContext.current().releaseWebDriver();
         }
     }
 
@@ -93,18 +463,61 @@ public class BaseTest {
      * Initializes test data files from JSON.
      */
     public void initializeTestData() {
-        testData = JsonUtil.readJsonFileToMap(System.getProperty("user.dir") + configProperties.getProperty("testDataFile"));
+        testData = Collections.unmodifiableMap(
+                JsonUtil.readJsonFileToMap(System.getProperty("user.dir") + configProperties.getProperty("testDataFile")));
         uniqueTestDataFilePath = System.getProperty("user.dir") + configProperties.getProperty("uniqueTestDataFile");
+        runDataStore = RunDataStore.load(uniqueTestDataFilePath);
+    }
+
+    /**
+     * Sets the suite's data-provider-thread-count; the driver pool gets at least one session per data-provider worker.
+     * @param threadCount data-provider-thread-count of the suite
+     */
+    protected static void setDataProviderThreadCount(int threadCount) {
+        dataProviderThreadCount = Math.max(1, threadCount);
     }
 
     /**
      * Sets up the test environment: loads config, initializes WebDriver, reporting, and test data.
      */
     public void setUp() {
-        loadConfigProperties();
-        initializeWebDriver();
-        initializeExtentReport();
-        initializeTestData();
+        suiteStartNanos = System.nanoTime();
+        BootstrapGraph bootstrapGraph = new BootstrapGraph()
+                .task("config", this::loadConfigProperties)
+                .task("driverBinary", this::initializeDriverBinary, "config")
+                .task("browser", this::initializeDriverPool, "driverBinary")
+                .task("report", this::initializeExtentReport, "config")
+                .task("testData", this::initializeTestData, "config");
+        bootstrapGraph.run();
+
+        // Lease on the calling thread, the execution context is bound to it
+        ExecutionContext.current().getWebDriver();
+        recordBootstrapTimings(bootstrapGraph.getPhaseDurations());
+    }
+
+    /**
+     * Records the duration of every bootstrap phase in the report and on the console.
+     * @param phaseDurations Phase name to duration
+     */
+    private void recordBootstrapTimings(Map<String, Duration> phaseDurations) {
+        for (Map.Entry<String, Duration> phase : phaseDurations.entrySet()) {
+            extentReports.setSystemInfo("Bootstrap: " + phase.getKey(), phase.getValue().toMillis() + " ms");
+            System.out.println("Bootstrap phase " + phase.getKey() + " took " + phase.getValue().toMillis() + " ms");
+        }
+        long totalMillis = Duration.ofNanos(System.nanoTime() - suiteStartNanos).toMillis();
+        extentReports.setSystemInfo("Bootstrap: total", totalMillis + " ms");
+        System.out.println("Suite bootstrap took " + totalMillis + " ms");
+    }
+
+    /**
+     * Records the suite's time-to-first-test the first time it is called.
+     */
+    protected static void recordTimeToFirstTest() {
+        if (suiteStartNanos != 0 && firstTestStarted.compareAndSet(false, true)) {
+            long millis = Duration.ofNanos(System.nanoTime() - suiteStartNanos).toMillis();
+            extentReports.setSystemInfo("Time to first test", millis + " ms");
+            System.out.println("Time to first test: " + millis + " ms");
+        }
     }
 
     /**
@@ -129,5 +542,8 @@ public class BaseTest {
         extentReports.setSystemInfo("Java Version", System.getProperty("java.version"));
         extentReports.setSystemInfo("Java VM Version", System.getProperty("java.vm.version"));
         extentReports.setSystemInfo("Test Environment", configProperties.getProperty("environment"));
+        ReportLog.start(extentReports,
+                Duration.ofMillis(Long.parseLong(configProperties.getProperty("reportDrainIntervalMillis"))),
+                Duration.ofSeconds(Long.parseLong(configProperties.getProperty("reportFlushIntervalSeconds"))));
     }
 }
\ No newline at end of file
@@ -0,0 +1,211 @@
+package base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch of DOM reads (text, visibility, attributes, counts) evaluated in a single executeScript call.
+ * Page objects declare the reads of a verification up front instead of paying one round trip per
+ * wait, findElement, getText and isDisplayed.
+ */
+public class BatchQuery {
+
+    private static final String READ_FUNCTION =
+            "function find(read) {"
+            + "  if (read.using === 'xpath') {"
+            + "    var result = document.evaluate(read.value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "    var nodes = [];"
+            + "    for (var i = 0; i < result.snapshotLength; i++) { nodes.push(result.snapshotItem(i)); }"
+            + "    return nodes;"
+            + "  }"
+            + "  return Array.prototype.slice.call(document.querySelectorAll(read.value));"
+            + "}"
+            + DomWaitEngine.IS_VISIBLE_FUNCTION
+            + "function collect(reads) {"
+            + "  var values = {};"
+            + "  reads.forEach(function (read) {"
+            + "    var nodes = find(read), el = nodes[0];"
+            + "    if (read.kind === 'COUNT') { values[read.key] = nodes.length; }"
+            + "    else if (read.kind === 'VISIBLE') { values[read.key] = isVisible(el); }"
+            + "    else if (read.kind === 'ATTRIBUTE') { values[read.key] = el ? el.getAttribute(read.attribute) : null; }"
+            + "    else { values[read.key] = el ? (el.innerText || el.textContent || '').trim() : null; }"
+            + "  });"
+            + "  return values;"
+            + "}";
+
+    private static final String READ_SCRIPT = READ_FUNCTION + "return collect(arguments[0]);";
+
+    private static final String AWAIT_SCRIPT = READ_FUNCTION
+            + "var done = arguments[arguments.length - 1], reads = arguments[0], awaitKey = arguments[1];"
+            + "var deadline = Date.now() + arguments[2];"
+            + "var awaited = reads.filter(function (read) { return read.key === awaitKey; })[0];"
+            + "(function poll() {"
+            + "  var ready = isVisible(find(awaited)[0]);"
+            + "  if (ready || Date.now() >= deadline) { done({ready: ready, values: collect(reads)}); return; }"
+            + "  setTimeout(poll, 50);"
+            + "})();";
+
+    private enum Kind {
+        TEXT, VISIBLE, ATTRIBUTE, COUNT
+    }
+
+    private final List<Map<String, Object>> reads = new ArrayList<>();
+
+    /**
+     * Reads the visible text of the first element matching the locator (null if there is none).
+     * @param key Key of the value in the result
+     * @param by  XPath or CSS locator
+     * @return this query, for chaining
+     */
+    public BatchQuery text(String key, By by) {
+        return add(key, Kind.TEXT, by, null);
+    }
+
+    /**
+     * Reads whether the first element matching the locator is visible.
+     * @param key Key of the value in the result
+     * @param by  XPath or CSS locator
+     * @return this query, for chaining
+     */
+    public BatchQuery visible(String key, By by) {
+        return add(key, Kind.VISIBLE, by, null);
+    }
+
+    /**
+     * Reads an attribute of the first element matching the locator (null if there is none).
+     * @param key       Key of the value in the result
+     * @param by        XPath or CSS locator
+     * @param attribute Attribute name
+     * @return this query, for chaining
+     */
+    public BatchQuery attribute(String key, By by, String attribute) {
+        return add(key, Kind.ATTRIBUTE, by, attribute);
+    }
+
+    /**
+     * Reads the number of elements matching the locator.
+     * @param key Key of the value in the result
+     * @param by  XPath or CSS locator
+     * @return this query, for chaining
+     */
+    public BatchQuery count(String key, By by) {
+        return add(key, Kind.COUNT, by, null);
+    }
+
+    /**
+     * Evaluates all reads in one call.
+     * @param driver WebDriver (or frame-focused driver) to read from
+     * @return the values read
+     */
+    public Result execute(WebDriver driver) {
+        return new Result((Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_SCRIPT, reads), true);
+    }
+
+    /**
+     * Waits in the browser until the element of the given read is visible, then evaluates all reads
+     * in the same call. When the element does not show up in time the values are read anyway.
+     * @param driver  WebDriver (or frame-focused driver) to read from
+     * @param key     Key of the read whose element to wait for
+     * @param timeout Maximum wait time
+     * @return the values read; {@link Result#isReady()} tells whether the element showed up
+     */
+    public Result executeWhenVisible(WebDriver driver, String key, Duration timeout) {
+        if (reads.stream().noneMatch(read -> key.equals(read.get("key")))) {
+            throw new IllegalArgumentException("No read declared for key '" + key + "'");
+        }
+        Result result = DomWaitEngine.runInChunks(timeout, (chunkMillis, lastChunk) -> {
+            Map<String, Object> response = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(
+                    AWAIT_SCRIPT, reads, key, chunkMillis);
+            boolean ready = Boolean.TRUE.equals(response.get("ready"));
+            return ready || lastChunk ? new Result((Map<String, Object>) response.get("values"), ready) : null;
+        });
+        // No call completed in time (e.g. navigations throughout): read the values as they are now
+        return result != null ? result : new Result(execute(driver).values, false);
+    }
+
+    private BatchQuery add(String key, Kind kind, By by, String attribute) {
+        if (!(by instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Batch queries support XPath and CSS locators only: " + by);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        if (!"xpath".equals(parameters.using()) && !"css selector".equals(parameters.using())) {
+            throw new IllegalArgumentException("Batch queries support XPath and CSS locators only: " + by);
+        }
+        Map<String, Object> read = new HashMap<>();
+        read.put("key", key);
+        read.put("kind", kind.name());
+        read.put("using", parameters.using());
+        read.put("value", String.valueOf(parameters.value()));
+        read.put("attribute", attribute);
+        reads.add(read);
+        return this;
+    }
+
+    /**
+     * Values read by a batch query, by key.
+     */
+    public static final class Result {
+
+        private final Map<String, Object> values;
+        private final boolean ready;
+
+        private Result(Map<String, Object> values, boolean ready) {
+            this.values = values != null ? new LinkedHashMap<>(values) : Collections.emptyMap();
+            this.ready = ready;
+        }
+
+        /**
+         * @return true if the awaited element showed up (always true for {@link BatchQuery#execute(WebDriver)})
+         */
+        public boolean isReady() {
+            return ready;
+        }
+
+        /**
+         * @param key Key of a text read
+         * @return the text, or null if no element matched
+         */
+        public String getText(String key) {
+            return (String) values.get(key);
+        }
+
+        /**
+         * @param key Key of a visibility read
+         * @return true if the element is visible
+         */
+        public boolean isVisible(String key) {
+            return Boolean.TRUE.equals(values.get(key));
+        }
+
+        /**
+         * @param key Key of an attribute read
+         * @return the attribute value, or null if no element matched or the attribute is absent
+         */
+        public String getAttribute(String key) {
+            return (String) values.get(key);
+        }
+
+        /**
+         * @param key Key of a count read
+         * @return the number of matching elements
+         */
+        public int getCount(String key) {
+            Object count = values.get(key);
+            return count != null ? ((Number) count).intValue() : 0;
+        }
+
+        @Override
+        public String toString() {
+            return values.toString();
+        }
+    }
+}
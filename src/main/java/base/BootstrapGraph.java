@@ -0,0 +1,81 @@
+package base;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Small dependency graph of suite startup tasks.
+ * Each task starts as soon as the tasks it depends on have finished, so independent
+ * tasks overlap, and the duration of every phase is recorded.
+ */
+public class BootstrapGraph {
+
+    private final Map<String, CompletableFuture<Void>> tasks = new LinkedHashMap<>();
+    private final Map<String, Duration> phaseDurations = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "suite-bootstrap");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Adds a task to the graph. Dependencies must have been added before.
+     * @param name      Phase name used in the recorded timings
+     * @param action    Work to run
+     * @param dependsOn Names of the tasks that must finish first
+     * @return this graph, for chaining
+     */
+    public BootstrapGraph task(String name, Runnable action, String... dependsOn) {
+        List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+        for (String dependency : dependsOn) {
+            CompletableFuture<Void> dependencyTask = tasks.get(dependency);
+            if (dependencyTask == null) {
+                throw new IllegalArgumentException("Unknown bootstrap dependency '" + dependency + "' of task '" + name + "'");
+            }
+            dependencies.add(dependencyTask);
+        }
+        CompletableFuture<Void> task = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0]))
+                .thenRunAsync(() -> {
+                    long startNanos = System.nanoTime();
+                    action.run();
+                    phaseDurations.put(name, Duration.ofNanos(System.nanoTime() - startNanos));
+                }, executor);
+        tasks.put(name, task);
+        return this;
+    }
+
+    /**
+     * Waits for all tasks to finish and rethrows the first failure.
+     */
+    public void run() {
+        try {
+            CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Suite bootstrap failed", cause);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Returns the recorded duration of each finished phase, in completion order.
+     * @return phase name to duration
+     */
+    public Map<String, Duration> getPhaseDurations() {
+        synchronized (phaseDurations) {
+            return new LinkedHashMap<>(phaseDurations);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package base;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * PageFactory field decorator whose single element proxies keep the element they resolved.
+ * Later calls reuse it without a lookup; when it has gone stale (re-render, navigation)
+ * the element is located again and the call retried once. List fields are located on every access.
+ * See {@link ElementPrefetch} for resolving all fields of a page up front.
+ */
+public class CachingFieldDecorator extends DefaultFieldDecorator {
+
+    private final Runnable enterFrame;
+
+    /**
+     * Creates a field decorator.
+     * @param factory    Factory of the locators backing the proxies
+     * @param enterFrame Focuses the driver on the frame the page lives in, run before every element call
+     */
+    public CachingFieldDecorator(ElementLocatorFactory factory, Runnable enterFrame) {
+        super(factory);
+        this.enterFrame = enterFrame;
+    }
+
+    @Override
+    protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+        return (WebElement) Proxy.newProxyInstance(loader,
+                new Class[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new CachingElementHandler(locator, enterFrame));
+    }
+
+    /**
+     * Invocation handler resolving the element on first use and re-resolving it once it is stale.
+     */
+    static final class CachingElementHandler implements InvocationHandler {
+
+        private final ElementLocator locator;
+        private final Runnable enterFrame;
+        private WebElement element;
+
+        private CachingElementHandler(ElementLocator locator, Runnable enterFrame) {
+            this.locator = locator;
+            this.enterFrame = enterFrame;
+        }
+
+        /**
+         * Binds an element resolved elsewhere (e.g. by a prefetch), used until it goes stale.
+         * @param element Element matching this handler's locator
+         */
+        void bind(WebElement element) {
+            this.element = element;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("toString".equals(method.getName())) {
+                return "Proxy element for: " + locator;
+            }
+            // A cached element only answers while the driver is focused on its frame
+            enterFrame.run();
+            if (element == null) {
+                element = locator.findElement();
+            }
+            if ("getWrappedElement".equals(method.getName())) {
+                // Callers use the wrapped element directly, so it gets no stale retry of its own
+                try {
+                    element.isEnabled();
+                } catch (StaleElementReferenceException e) {
+                    element = locator.findElement();
+                }
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+            }
+            element = locator.findElement();
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
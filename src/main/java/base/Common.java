@@ -1,18 +1,30 @@
 package base;
 
 import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+import util.ShadowPath;
+
+import java.time.Duration;
 
 /**
  * Common page actions and utilities for web automation.
  */
 public class Common extends BaseTest {
 
+    private static final By ACTION_BODY_HEADER_LOCATOR = By.xpath("//div[@class='actionBody']//h2");
+    /** XPath of the CPQ iframe, for pages living in it (see {@link PageFrame}). */
+    public static final String ACCESSIBILITY_TITLE_IFRAME_XPATH = "//iframe[@title='accessibility title']";
+
+    private static final By ACCESSIBILITY_TITLE_IFRAME = By.xpath(ACCESSIBILITY_TITLE_IFRAME_XPATH);
+    private static final ShadowPath SHADOW_SPINNER = ShadowPath.of("#sbPageContainer", "#spinner",
+            "#mask > div.slds-spinner--brand.slds-spinner.large > div.slds-spinner__dot-a");
+
     private final SeleniumLib seleniumLib;
+    private final LightningQuiescence lightningQuiescence;
 
     /**
      * Constructor to initialize Common page object.
@@ -20,15 +32,15 @@ public class Common extends BaseTest {
      */
     public Common(SeleniumLib seleniumLib) {
         super();
-        PageFactory.initElements(webDriver, this);
+        initElements(this);
         this.seleniumLib = seleniumLib;
+        this.lightningQuiescence = new LightningQuiescence(
+                Long.parseLong(configProperties.getProperty("quietPeriodMillis")));
     }
 
     @FindBy(xpath = "//*[@slot='primaryField']")
     private WebElement primaryField;
 
-    @FindBy(xpath = "//div[@class='actionBody']//h2")
-    private WebElement actionBodyHeader;
 
     @FindBy(xpath = "//div[@class='footer-full-width']//button[text()='Save']")
     private WebElement saveButton;
@@ -37,11 +49,17 @@ public class Common extends BaseTest {
     private WebElement nextButton;
 
     /**
-     * Waits for the loading spinner to become invisible.
+     * Waits until the application is idle: no Aura/LWC request or Aura action in flight
+     * and no spinner visible in light or shadow DOM. Waits in the document the driver is focused on,
+     * so inside the CPQ iframe it waits for the iframe's requests and spinners.
      */
-    public void waitForLoadingSpinnerToBeInvisible() {
-        By spinnerLocator = By.xpath("//*[@class='indicatorContainer forceInlineSpinner darkened']");
-        seleniumLib.waitForElementToBeInvisible(spinnerLocator);
+    public void waitForApplicationIdle() {
+        try {
+            lightningQuiescence.waitForIdle(getWebDriver(),
+                    Deadline.remaining(Duration.ofSeconds(Integer.parseInt(configProperties.getProperty("maxWait")))));
+        } catch (TimeoutException e) {
+            getReportLog().warning("Exception in waitForApplicationIdle: " + e.getMessage());
+        }
     }
 
     /**
@@ -49,9 +67,9 @@ public class Common extends BaseTest {
      * @return The header text as String
      */
     public String getActionBodyHeaderText() {
-        waitForLoadingSpinnerToBeInvisible();
-        seleniumLib.waitForElementToBeVisible(actionBodyHeader);
-        return actionBodyHeader.getText();
+        enterPageFrame();
+        waitForApplicationIdle();
+        return readTextWhenVisible(ACTION_BODY_HEADER_LOCATOR);
     }
 
     /**
@@ -61,17 +79,17 @@ public class Common extends BaseTest {
      */
     public boolean isDialogHeaderTextMatched(String expectedHeaderText) {
         String actualHeader = getActionBodyHeaderText();
-        extentTest.info("Expected header: " + expectedHeaderText + ", Actual header: " + actualHeader);
+        getReportLog().info("Expected header: " + expectedHeaderText + ", Actual header: " + actualHeader);
         return actualHeader.equals(expectedHeaderText);
     }
 
     /**
-     * Clicks the Save button and waits for the loading spinner to disappear.
+     * Clicks the Save button and waits for the application to be idle.
      */
     public void clickSaveButton() {
         seleniumLib.javascriptClick(saveButton);
-        extentTest.info("Clicked on Save button and waited for loading spinner to be invisible");
-        waitForLoadingSpinnerToBeInvisible();
+        getReportLog().info("Clicked on Save button and waited for application to be idle");
+        waitForApplicationIdle();
     }
 
     /**
@@ -80,40 +98,72 @@ public class Common extends BaseTest {
      * @return The primary field text as String
      */
     public String getPrimaryFieldText(String entityLabel) {
+        enterPageFrame();
         By primaryFieldLocator = By.xpath(
             "//*[@slot='entityLabel' and text()='" + entityLabel + "']/../../following-sibling::slot//*[@slot='primaryField']"
         );
-        seleniumLib.waitForElementToBeVisible(primaryFieldLocator);
-        return webDriver.findElement(primaryFieldLocator).getText();
+        return readTextWhenVisible(primaryFieldLocator);
     }
 
     /**
-     * Clicks the Next button and waits for the loading spinner to disappear.
+     * Waits for the element to be visible and reads its text in a single call.
+     * @param locator XPath or CSS locator of the element
+     * @return The element text
+     * @throws NoSuchElementException if the element is not present in time
+     */
+    private String readTextWhenVisible(By locator) {
+        BatchQuery.Result result = new BatchQuery()
+                .text("text", locator)
+                .executeWhenVisible(getWebDriver(), "text",
+                        Deadline.remaining(Duration.ofSeconds(Integer.parseInt(configProperties.getProperty("maxWait")))));
+        if (!result.isReady()) {
+            getReportLog().warning("Element did not become visible in time: " + locator);
+        }
+        if (result.getText("text") == null) {
+            throw new NoSuchElementException("Cannot locate an element using " + locator);
+        }
+        return result.getText("text");
+    }
+
+    /**
+     * Clicks the Next button and waits for the application to be idle.
      */
     public void clickNextButton() {
         seleniumLib.javascriptClick(nextButton);
-        extentTest.info("Clicked on Next button");
-        waitForLoadingSpinnerToBeInvisible();
+        getReportLog().info("Clicked on Next button");
+        waitForApplicationIdle();
     }
 
 
     /**
      * Switches the WebDriver context to the iframe with the accessibility title.
+     * Consecutive calls reuse the iframe without switching; the application idle wait
+     * only runs when the driver actually switches in.
      * @return The WebDriver instance focused on the iframe
      */
     public WebDriver switchToAccessibilityTitleIframe() {
-        waitForLoadingSpinnerToBeInvisible();
-        By iframeLocator = By.xpath("//iframe[@title='accessibility title']");
-        seleniumLib.waitForElementToBeVisible(iframeLocator);
-        WebElement iframeElement = webDriver.findElement(iframeLocator);
-        return webDriver.switchTo().frame(iframeElement);
+        return enterFrame(ACCESSIBILITY_TITLE_IFRAME);
+    }
+
+    /**
+     * Focuses the driver on the given frame, or on default content, unless it already is.
+     * Before switching into a frame the application idle wait runs in default content.
+     * @param frameLocator Locator of the frame element in default content, null for default content
+     * @return The WebDriver instance focused on the frame
+     */
+    public WebDriver enterFrame(By frameLocator) {
+        if (frameLocator == null) {
+            getFrameContext().ensureDefaultContent();
+            return getWebDriver();
+        }
+        Duration maxWait = Duration.ofSeconds(Integer.parseInt(configProperties.getProperty("maxWait")));
+        // One budget for the idle wait and the iframe lookup together
+        return Deadline.within(maxWait, () -> getFrameContext().enter(frameLocator,
+                Deadline.remaining(maxWait), this::waitForApplicationIdle));
     }
 
     public WebElement getShadowSpinnerElement(WebDriver driver) {
-        String script = "return document.querySelector('#sbPageContainer')"
-                + ".shadowRoot.querySelector('#spinner')"
-                + ".shadowRoot.querySelector('#mask > div.slds-spinner--brand.slds-spinner.large > div.slds-spinner__dot-a');";
-        return (WebElement) ((JavascriptExecutor) driver).executeScript(script);
+        return SHADOW_SPINNER.find(driver);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package base;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Time budget of the running page action.
+ * Waits inside {@link #within(Duration, Supplier)} share one deadline, so nested waits
+ * never add up to more than the budget of the outermost action.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Runs an action within a time budget. Inside an outer budget the earlier of both deadlines applies.
+     * @param budget Maximum time for the action, including all waits it performs
+     * @param action Action to run
+     * @return the value returned by the action
+     */
+    public static <T> T within(Duration budget, Supplier<T> action) {
+        Deadline outer = CURRENT.get();
+        long expiresAtNanos = System.nanoTime() + budget.toNanos();
+        if (outer != null && outer.expiresAtNanos - expiresAtNanos < 0) {
+            expiresAtNanos = outer.expiresAtNanos;
+        }
+        CURRENT.set(new Deadline(expiresAtNanos));
+        try {
+            return action.get();
+        } finally {
+            if (outer != null) {
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Runs an action within a time budget. Inside an outer budget the earlier of both deadlines applies.
+     * @param budget Maximum time for the action, including all waits it performs
+     * @param action Action to run
+     */
+    public static void within(Duration budget, Runnable action) {
+        within(budget, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Caps a wait timeout by the budget left in the running action, if any.
+     * @param timeout Timeout the wait would use on its own
+     * @return the smaller of the timeout and the remaining budget, never negative
+     */
+    public static Duration remaining(Duration timeout) {
+        Deadline current = CURRENT.get();
+        if (current == null) {
+            return timeout;
+        }
+        long remainingNanos = Math.max(0, current.expiresAtNanos - System.nanoTime());
+        return remainingNanos < timeout.toNanos() ? Duration.ofNanos(remainingNanos) : timeout;
+    }
+}
@@ -0,0 +1,315 @@
+package base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Event-driven wait engine.
+ * Installs a MutationObserver/IntersectionObserver in the browser through executeAsyncScript and
+ * resolves the moment the DOM satisfies the condition, instead of polling from the client.
+ * Falls back to adaptive backoff polling (starting at 50 ms) when async scripts are unavailable.
+ */
+public class DomWaitEngine {
+
+    /**
+     * Element conditions supported by the engine, mirroring the ExpectedConditions used before.
+     */
+    public enum Condition {
+        PRESENT, VISIBLE, INVISIBLE, CLICKABLE
+    }
+
+    /**
+     * Longest single executeAsyncScript call, so every call resolves before the driver's default 30 s
+     * script timeout; longer in-browser waits are chained with {@link #runInChunks(Duration, AsyncChunk)}.
+     */
+    public static final long MAX_ASYNC_CHUNK_MILLIS = 20_000;
+
+    /** JavaScript isVisible(el) function, shared by the in-browser waits and reads. */
+    public static final String IS_VISIBLE_FUNCTION =
+            "function isVisible(el) {"
+            + "  if (!el || !el.isConnected) { return false; }"
+            + "  var rect = el.getBoundingClientRect();"
+            + "  if (rect.width === 0 && rect.height === 0) { return false; }"
+            + "  for (var node = el; node && node.nodeType === 1; node = node.parentElement) {"
+            + "    var style = window.getComputedStyle(node);"
+            + "    if (style.display === 'none' || style.opacity === '0') { return false; }"
+            + "    if (node === el && style.visibility !== 'visible') { return false; }"
+            + "  }"
+            + "  return true;"
+            + "}";
+
+    private static final long INITIAL_POLL_MILLIS = 50;
+    private static final long MAX_POLL_MILLIS = 500;
+
+    private static final String OBSERVER_SCRIPT =
+            "var args = arguments, done = args[args.length - 1];"
+            + "var using = args[0], value = args[1], target = args[2], condition = args[3], timeoutMs = args[4];"
+            + "function find() {"
+            + "  if (target) { return target.isConnected ? target : null; }"
+            + "  if (using === 'xpath') {"
+            + "    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "  }"
+            + "  return document.querySelector(value);"
+            + "}"
+            + IS_VISIBLE_FUNCTION
+            + "function check() {"
+            + "  var el = find();"
+            + "  if (condition === 'PRESENT') { return el ? {ok: true, element: el} : null; }"
+            + "  if (condition === 'INVISIBLE') { return isVisible(el) ? null : {ok: true}; }"
+            + "  if (!isVisible(el)) { return null; }"
+            + "  if (condition === 'CLICKABLE' && el.disabled) { return null; }"
+            + "  return {ok: true, element: el};"
+            + "}"
+            + "var result = check();"
+            + "if (result) { done(result); return; }"
+            + "var finished = false, intersectionObserver = null;"
+            + "function finish(r) {"
+            + "  if (finished) { return; }"
+            + "  finished = true;"
+            + "  mutationObserver.disconnect();"
+            + "  if (intersectionObserver) { intersectionObserver.disconnect(); }"
+            + "  document.removeEventListener('transitionend', recheck, true);"
+            + "  document.removeEventListener('animationend', recheck, true);"
+            + "  clearInterval(safetyTimer);"
+            + "  clearTimeout(timeoutTimer);"
+            + "  done(r);"
+            + "}"
+            + "function recheck() {"
+            + "  var r = check();"
+            + "  if (r) { finish(r); return; }"
+            + "  var el = find();"
+            + "  if (el && !intersectionObserver && window.IntersectionObserver) {"
+            + "    intersectionObserver = new IntersectionObserver(recheck);"
+            + "    intersectionObserver.observe(el);"
+            + "  }"
+            + "}"
+            + "var mutationObserver = new MutationObserver(recheck);"
+            + "mutationObserver.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});"
+            + "document.addEventListener('transitionend', recheck, true);"
+            + "document.addEventListener('animationend', recheck, true);"
+            // Changes inside shadow roots and pure style changes do not produce mutations on the document
+            + "var safetyTimer = setInterval(recheck, 250);"
+            + "var timeoutTimer = setTimeout(function () { finish({ok: false}); }, timeoutMs);"
+            + "recheck();";
+
+    private volatile boolean asyncScriptSupported = true;
+
+    /**
+     * Waits until the element located by the locator satisfies the condition.
+     * @param driver    WebDriver (or frame-focused driver) to wait on
+     * @param by        Locator of the element
+     * @param condition Condition to wait for
+     * @param timeout   Maximum wait time
+     * @return the matching element, or null for {@link Condition#INVISIBLE}
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public WebElement waitFor(WebDriver driver, By by, Condition condition, Duration timeout) {
+        if (by instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+            if ("xpath".equals(parameters.using()) || "css selector".equals(parameters.using())) {
+                return await(driver, parameters.using(), String.valueOf(parameters.value()), null,
+                        condition, timeout, by.toString());
+            }
+        }
+        return pollUntil(driver, d -> evaluate(d.findElements(by), condition), timeout,
+                describe(condition, by.toString())).element;
+    }
+
+    /**
+     * Waits until the given element satisfies the condition.
+     * @param driver    WebDriver (or frame-focused driver) to wait on
+     * @param element   Element (or PageFactory proxy) to wait for
+     * @param condition Condition to wait for
+     * @param timeout   Maximum wait time
+     * @return the element, or null for {@link Condition#INVISIBLE}
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public WebElement waitFor(WebDriver driver, WebElement element, Condition condition, Duration timeout) {
+        return await(driver, null, null, element, condition, timeout, element.toString());
+    }
+
+    /**
+     * Runs an in-browser wait as consecutive async script calls of at most {@link #MAX_ASYNC_CHUNK_MILLIS}.
+     * A call failing with a JavascriptException (document unloaded by a navigation, element re-rendered
+     * while the script ran) is retried on the new DOM with adaptive backoff.
+     * @param timeout Total wait time
+     * @param chunk   Runs one async script call
+     * @return the first non-null result of a call, or null if the timeout passed first
+     */
+    public static <T> T runInChunks(Duration timeout, AsyncChunk<T> chunk) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long retryMillis = INITIAL_POLL_MILLIS;
+        while (true) {
+            long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+            if (remainingMillis <= 0) {
+                return null;
+            }
+            try {
+                T result = chunk.run(Math.min(remainingMillis, MAX_ASYNC_CHUNK_MILLIS), remainingMillis <= MAX_ASYNC_CHUNK_MILLIS);
+                if (result != null) {
+                    return result;
+                }
+                retryMillis = INITIAL_POLL_MILLIS;
+            } catch (JavascriptException e) {
+                sleep(Math.min(retryMillis, remainingMillis));
+                retryMillis = Math.min(MAX_POLL_MILLIS, retryMillis * 2);
+            }
+        }
+    }
+
+    /**
+     * Polls a condition with adaptive backoff: 50 ms first, growing up to 500 ms.
+     * Not-found and stale element exceptions are treated as "not yet".
+     * @param driver      WebDriver passed to the condition
+     * @param condition   Function returning a non-null, non-false value once satisfied
+     * @param timeout     Maximum wait time
+     * @param description Description used in the timeout message
+     * @return the value returned by the condition
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public <T> T pollUntil(WebDriver driver, Function<WebDriver, T> condition, Duration timeout, String description) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long pollMillis = INITIAL_POLL_MILLIS;
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    return value;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException ignored) {
+                // Not there yet, poll again
+            }
+            long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+            if (remainingMillis <= 0) {
+                throw new TimeoutException("Timed out after " + timeout.getSeconds() + " seconds waiting for " + description);
+            }
+            sleep(Math.min(pollMillis, remainingMillis));
+            pollMillis = Math.min(MAX_POLL_MILLIS, pollMillis * 2);
+        }
+    }
+
+    private WebElement await(WebDriver driver, String using, String value, WebElement element,
+                             Condition condition, Duration timeout, String target) {
+        String description = describe(condition, target);
+        if (!asyncScriptSupported) {
+            return pollWithSelenium(driver, using, value, element, condition, timeout, description);
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Match match;
+        try {
+            match = runInChunks(timeout, (chunkMillis, lastChunk) -> {
+                try {
+                    Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(
+                            OBSERVER_SCRIPT, using, value, element, condition.name(), chunkMillis);
+                    return result != null && Boolean.TRUE.equals(result.get("ok"))
+                            ? new Match((WebElement) result.get("element")) : null;
+                } catch (StaleElementReferenceException | NoSuchElementException e) {
+                    // PageFactory proxy not resolvable (yet) or element replaced
+                    if (condition == Condition.INVISIBLE) {
+                        return Match.INVISIBLE;
+                    }
+                    sleep(Math.min(INITIAL_POLL_MILLIS, chunkMillis));
+                    return null;
+                }
+            });
+        } catch (UnsupportedCommandException | ClassCastException e) {
+            asyncScriptSupported = false;
+            return pollWithSelenium(driver, using, value, element, condition,
+                    Duration.ofNanos(Math.max(0, deadline - System.nanoTime())), description);
+        }
+        if (match == null) {
+            throw new TimeoutException("Timed out after " + timeout.getSeconds() + " seconds waiting for " + description);
+        }
+        return match.element;
+    }
+
+    private WebElement pollWithSelenium(WebDriver driver, String using, String value, WebElement element,
+                                        Condition condition, Duration timeout, String description) {
+        By by = "xpath".equals(using) ? By.xpath(value) : (using != null ? By.cssSelector(value) : null);
+        return pollUntil(driver, d -> {
+            if (by != null) {
+                return evaluate(d.findElements(by), condition);
+            }
+            try {
+                return evaluate(List.of(element), condition);
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                if (condition == Condition.INVISIBLE) {
+                    return Match.INVISIBLE;
+                }
+                throw e;
+            }
+        }, timeout, description).element;
+    }
+
+    /**
+     * Evaluates the condition on the first matching element, as ExpectedConditions does.
+     */
+    private static Match evaluate(List<WebElement> elements, Condition condition) {
+        WebElement element = elements.isEmpty() ? null : elements.get(0);
+        if (condition == Condition.PRESENT) {
+            return element != null ? new Match(element) : null;
+        }
+        boolean isDisplayed = element != null && element.isDisplayed();
+        switch (condition) {
+            case INVISIBLE:
+                return isDisplayed ? null : Match.INVISIBLE;
+            case CLICKABLE:
+                return isDisplayed && element.isEnabled() ? new Match(element) : null;
+            default:
+                return isDisplayed ? new Match(element) : null;
+        }
+    }
+
+    private static String describe(Condition condition, String target) {
+        return condition.name().toLowerCase() + " of " + target;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+
+    /**
+     * One executeAsyncScript call of a chunked in-browser wait.
+     */
+    @FunctionalInterface
+    public interface AsyncChunk<T> {
+
+        /**
+         * Runs the script for at most the given time.
+         * @param chunkMillis Time budget of this call, passed on to the script
+         * @param lastChunk   Whether the total wait time ends with this call
+         * @return the final result, or null to run another call
+         */
+        T run(long chunkMillis, boolean lastChunk);
+    }
+
+    /**
+     * Non-null holder for a satisfied condition, since INVISIBLE is satisfied without an element.
+     */
+    private static final class Match {
+        private static final Match INVISIBLE = new Match(null);
+        private final WebElement element;
+
+        private Match(WebElement element) {
+            this.element = element;
+        }
+    }
+}
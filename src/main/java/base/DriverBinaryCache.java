@@ -0,0 +1,117 @@
+package base;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Properties;
+
+/**
+ * Caches the driver binary path resolved by Selenium Manager on disk, so later runs
+ * point Selenium straight at the binary instead of consulting Selenium Manager again.
+ */
+public class DriverBinaryCache {
+
+    private final String cacheFilePath;
+    private final String browser;
+
+    /**
+     * Creates a cache for the given browser.
+     * @param cacheFilePath Path of the properties file holding the cached paths
+     * @param browser       Browser name from config (chrome, edge, firefox)
+     */
+    public DriverBinaryCache(String cacheFilePath, String browser) {
+        this.cacheFilePath = cacheFilePath;
+        this.browser = browser.toLowerCase();
+    }
+
+    /**
+     * Points Selenium at the cached driver binary, resolving and caching it through Selenium Manager
+     * when there is no cached path or the cached binary no longer exists.
+     */
+    public void apply() {
+        DriverService service = createDefaultService();
+        if (System.getProperty(service.getDriverProperty()) != null) {
+            return;
+        }
+        Properties cache = load();
+        String driverPath = cache.getProperty(browser + ".driverPath");
+        if (driverPath == null || !new File(driverPath).canExecute()) {
+            driverPath = DriverFinder.getPath(service, createDefaultOptions()).getDriverPath();
+            cache.setProperty(browser + ".driverPath", driverPath);
+            store(cache);
+        }
+        System.setProperty(service.getDriverProperty(), driverPath);
+    }
+
+    /**
+     * Drops the cached path, e.g. after the browser auto-updated and the cached driver no longer matches it.
+     * @return true if a cached path was removed, false if there was none
+     */
+    public boolean invalidate() {
+        Properties cache = load();
+        if (cache.remove(browser + ".driverPath") == null) {
+            return false;
+        }
+        store(cache);
+        System.clearProperty(createDefaultService().getDriverProperty());
+        return true;
+    }
+
+    private DriverService createDefaultService() {
+        switch (browser) {
+            case "chrome":
+                return ChromeDriverService.createDefaultService();
+            case "edge":
+                return EdgeDriverService.createDefaultService();
+            case "firefox":
+                return GeckoDriverService.createDefaultService();
+            default:
+                throw new RuntimeException("Browser not supported: " + browser);
+        }
+    }
+
+    private Capabilities createDefaultOptions() {
+        switch (browser) {
+            case "chrome":
+                return new ChromeOptions();
+            case "edge":
+                return new EdgeOptions();
+            default:
+                return new FirefoxOptions();
+        }
+    }
+
+    private Properties load() {
+        Properties cache = new Properties();
+        File cacheFile = new File(cacheFilePath);
+        if (cacheFile.exists()) {
+            try (FileInputStream fis = new FileInputStream(cacheFile)) {
+                cache.load(fis);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return cache;
+    }
+
+    private void store(Properties cache) {
+        File cacheFile = new File(cacheFilePath);
+        cacheFile.getParentFile().mkdirs();
+        try (FileOutputStream fos = new FileOutputStream(cacheFile)) {
+            cache.store(fos, "Driver binaries resolved by Selenium Manager");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package base;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool of warm browser sessions leased to worker threads.
+ * Returned sessions are reset (cookies, storage, extra windows) instead of relaunched,
+ * and broken or worn-out sessions are replaced in the background.
+ */
+public class DriverPool {
+
+    private final Supplier<WebDriver> webDriverFactory;
+    private final int poolSize;
+    private final int maxReuse;
+    private final int leaseTimeoutSeconds;
+
+    private final BlockingQueue<WebDriver> idleSessions = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, Integer> leaseCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final ExecutorService replenishExecutor;
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a driver pool.
+     * @param webDriverFactory    Factory launching a fully configured browser session
+     * @param poolSize            Maximum number of live sessions
+     * @param maxReuse            Number of leases after which a session is retired and relaunched
+     * @param leaseTimeoutSeconds Maximum time to wait for a free session
+     */
+    public DriverPool(Supplier<WebDriver> webDriverFactory, int poolSize, int maxReuse, int leaseTimeoutSeconds) {
+        this.webDriverFactory = webDriverFactory;
+        this.poolSize = Math.max(1, poolSize);
+        this.maxReuse = Math.max(1, maxReuse);
+        this.leaseTimeoutSeconds = leaseTimeoutSeconds;
+        this.replenishExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "driver-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Launches the given number of sessions concurrently and waits until they are ready.
+     * @param warmUpCount Number of sessions to pre-launch (capped at the pool size)
+     */
+    public void warmUp(int warmUpCount) {
+        List<CompletableFuture<Void>> launches = new ArrayList<>();
+        for (int i = 0; i < Math.min(warmUpCount, poolSize); i++) {
+            if (reserveSession()) {
+                launches.add(CompletableFuture.runAsync(this::launchIdleSession, replenishExecutor));
+            }
+        }
+        CompletableFuture.allOf(launches.toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * Leases a session, launching a new one if the pool is not full and none is idle.
+     * @return a clean WebDriver session owned by the caller until released
+     */
+    public WebDriver lease() {
+        WebDriver webDriver = idleSessions.poll();
+        if (webDriver == null && reserveSession()) {
+            webDriver = launchSession();
+        }
+        if (webDriver == null) {
+            try {
+                webDriver = idleSessions.poll(leaseTimeoutSeconds, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+            }
+            if (webDriver == null) {
+                throw new IllegalStateException("No browser session became available within "
+                        + leaseTimeoutSeconds + " seconds (pool size " + poolSize + ")");
+            }
+        }
+        leaseCounts.merge(webDriver, 1, Integer::sum);
+        return webDriver;
+    }
+
+    /**
+     * Returns a session to the pool. The session is reset cheaply; if it is worn out or
+     * broken it is quit and a replacement is launched in the background.
+     * @param webDriver Session previously obtained from {@link #lease()}
+     */
+    public void release(WebDriver webDriver) {
+        if (webDriver == null) {
+            return;
+        }
+        if (shutdown || leaseCounts.getOrDefault(webDriver, 0) >= maxReuse) {
+            retire(webDriver);
+            return;
+        }
+        try {
+            reset(webDriver);
+            idleSessions.offer(webDriver);
+        } catch (Exception e) {
+            System.out.println("Discarding broken browser session: " + e.getMessage());
+            retire(webDriver);
+        }
+    }
+
+    /**
+     * Quits all idle sessions and stops background replenishment.
+     * Sessions still leased are quit when they are released.
+     */
+    public void shutdown() {
+        shutdown = true;
+        replenishExecutor.shutdownNow();
+        WebDriver webDriver;
+        while ((webDriver = idleSessions.poll()) != null) {
+            quitQuietly(webDriver);
+        }
+    }
+
+    /**
+     * Clears cookies, local and session storage, closes extra windows and navigates to a blank page.
+     * @param webDriver Session to reset
+     */
+    private void reset(WebDriver webDriver) {
+        List<String> windowHandles = new ArrayList<>(webDriver.getWindowHandles());
+        for (int i = 1; i < windowHandles.size(); i++) {
+            webDriver.switchTo().window(windowHandles.get(i)).close();
+        }
+        webDriver.switchTo().window(windowHandles.get(0));
+        ((JavascriptExecutor) webDriver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        if (webDriver instanceof ChromiumDriver) {
+            // Clears cookies of every domain, not only the one currently loaded
+            ((ChromiumDriver) webDriver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        } else {
+            webDriver.manage().deleteAllCookies();
+        }
+        webDriver.get("about:blank");
+    }
+
+    private boolean reserveSession() {
+        int current;
+        do {
+            current = sessionCount.get();
+            if (current >= poolSize) {
+                return false;
+            }
+        } while (!sessionCount.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private WebDriver launchSession() {
+        try {
+            return webDriverFactory.get();
+        } catch (RuntimeException e) {
+            sessionCount.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void launchIdleSession() {
+        idleSessions.offer(launchSession());
+    }
+
+    private void retire(WebDriver webDriver) {
+        leaseCounts.remove(webDriver);
+        quitQuietly(webDriver);
+        sessionCount.decrementAndGet();
+        if (!shutdown && reserveSession()) {
+            replenishExecutor.submit(this::launchIdleSession);
+        }
+    }
+
+    private static void quitQuietly(WebDriver webDriver) {
+        try {
+            webDriver.quit();
+        } catch (Exception e) {
+            System.out.println("Failed to quit browser session: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves all single element @FindBy fields of a page in one script call and binds the results
+ * to the page's {@link CachingFieldDecorator} proxies, so a form fill does not pay a lookup per field.
+ * Fields not on the page yet stay unresolved and are located on first use; a prefetched element
+ * that goes stale is re-resolved for that field only.
+ */
+public final class ElementPrefetch {
+
+    private static final String PREFETCH_SCRIPT =
+            "return arguments[0].map(function (lookup) {"
+            + "  if (lookup.using === 'xpath') {"
+            + "    return document.evaluate(lookup.value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "  }"
+            + "  return document.querySelector(lookup.value);"
+            + "});";
+
+    private ElementPrefetch() {
+    }
+
+    /**
+     * Resolves and binds the @FindBy fields of a page initialized with {@link BaseTest#initElements(Object)}.
+     * Fields using other than XPath or CSS locators are left to resolve lazily.
+     * @param driver WebDriver focused on the frame the page lives in
+     * @param page   Page object
+     * @return number of fields bound
+     */
+    public static int prefetch(WebDriver driver, Object page) {
+        List<CachingFieldDecorator.CachingElementHandler> handlers = new ArrayList<>();
+        List<Map<String, String>> lookups = new ArrayList<>();
+        for (Class<?> type = page.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.getType() != WebElement.class || !field.isAnnotationPresent(FindBy.class)) {
+                    continue;
+                }
+                CachingFieldDecorator.CachingElementHandler handler = handlerOf(field, page);
+                Map<String, String> lookup = lookupOf(new Annotations(field).buildBy());
+                if (handler != null && lookup != null) {
+                    handlers.add(handler);
+                    lookups.add(lookup);
+                }
+            }
+        }
+        if (lookups.isEmpty()) {
+            return 0;
+        }
+        List<?> elements = (List<?>) ((JavascriptExecutor) driver).executeScript(PREFETCH_SCRIPT, lookups);
+        int bound = 0;
+        for (int i = 0; i < handlers.size(); i++) {
+            if (elements.get(i) instanceof WebElement) {
+                handlers.get(i).bind((WebElement) elements.get(i));
+                bound++;
+            }
+        }
+        return bound;
+    }
+
+    private static CachingFieldDecorator.CachingElementHandler handlerOf(Field field, Object page) {
+        try {
+            field.setAccessible(true);
+            Object proxy = field.get(page);
+            if (proxy != null && Proxy.isProxyClass(proxy.getClass())
+                    && Proxy.getInvocationHandler(proxy) instanceof CachingFieldDecorator.CachingElementHandler) {
+                return (CachingFieldDecorator.CachingElementHandler) Proxy.getInvocationHandler(proxy);
+            }
+            return null;
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> lookupOf(By by) {
+        if (!(by instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        if (!"xpath".equals(parameters.using()) && !"css selector".equals(parameters.using())) {
+            return null;
+        }
+        Map<String, String> lookup = new HashMap<>();
+        lookup.put("using", parameters.using());
+        lookup.put("value", String.valueOf(parameters.value()));
+        return lookup;
+    }
+}
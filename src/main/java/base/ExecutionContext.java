@@ -0,0 +1,227 @@
+package base;
+
+import com.aventstack.extentreports.ExtentTest;
+import org.openqa.selenium.WebDriver;
+import util.UniqueIdGenerator;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Per-thread execution context owning the WebDriver, the current report node and its report log.
+ * Every TestNG worker thread gets its own context, so tests can run in parallel with one browser per thread.
+ */
+public final class ExecutionContext {
+
+    private static final ThreadLocal<ExecutionContext> CURRENT = ThreadLocal.withInitial(ExecutionContext::new);
+
+    // Contexts currently holding a leased session, so they can be released from the listener thread
+    private static final Set<ExecutionContext> LEASING_CONTEXTS = ConcurrentHashMap.newKeySet();
+
+    // Pool used to lease a driver for worker threads that do not have one yet
+    private static volatile DriverPool driverPool;
+
+    // Logs a freshly leased session in (e.g. from a session snapshot), returning whether it succeeded
+    private static volatile Predicate<WebDriver> sessionRestorer;
+
+    // Volatile: releaseWebDrivers resets them from the listener thread, the owning worker must see that
+    private volatile WebDriver webDriver;
+    private volatile FrameContext frameContext;
+    private volatile PageRegistry pageRegistry;
+    private volatile boolean authenticated;
+    private volatile String testBlockName;
+    private ExtentTest extentTest;
+    private final ReportLog reportLog = new ReportLog(this);
+    private final String workerName = Thread.currentThread().getName();
+    // Run data of this worker; the run ID keeps it apart from the same worker's values of earlier runs
+    private final String runDataScope = UniqueIdGenerator.getDefault().getRunId() + "/" + workerName;
+    // Scope this worker reads run data it did not write from, bound on first use for the whole chain
+    private volatile String runDataFallbackScope;
+
+    private ExecutionContext() {
+    }
+
+    /**
+     * Returns the execution context bound to the calling thread.
+     * @return the current ExecutionContext
+     */
+    public static ExecutionContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Registers the pool that threads lease their WebDriver from.
+     * @param pool DriverPool of warm browser sessions
+     */
+    public static void setDriverPool(DriverPool pool) {
+        driverPool = pool;
+    }
+
+    /**
+     * Registers the restorer applied to every session leased from the pool, which arrives reset and logged out.
+     * @param restorer Returns true if it logged the session in
+     */
+    public static void setSessionRestorer(Predicate<WebDriver> restorer) {
+        sessionRestorer = restorer;
+    }
+
+    /**
+     * Returns the WebDriver of this context, leasing one from the driver pool if needed.
+     * @return the WebDriver owned by this context
+     */
+    public WebDriver getWebDriver() {
+        if (webDriver == null) {
+            DriverPool pool = driverPool;
+            if (pool == null) {
+                throw new IllegalStateException("No WebDriver bound to thread " + Thread.currentThread().getName()
+                        + " and no driver pool registered");
+            }
+            webDriver = pool.lease();
+            LEASING_CONTEXTS.add(this);
+            Predicate<WebDriver> restorer = sessionRestorer;
+            authenticated = restorer != null && restorer.test(webDriver);
+        }
+        return webDriver;
+    }
+
+    /**
+     * Returns the frame tracking of this context's WebDriver.
+     * @return the FrameContext of the current WebDriver
+     */
+    public FrameContext getFrameContext() {
+        WebDriver driver = getWebDriver();
+        if (frameContext == null) {
+            frameContext = new FrameContext(driver);
+        }
+        return frameContext;
+    }
+
+    /**
+     * Returns the page objects of this context's WebDriver.
+     * @return the PageRegistry of the current WebDriver
+     */
+    public PageRegistry getPageRegistry() {
+        getWebDriver();
+        if (pageRegistry == null) {
+            pageRegistry = new PageRegistry();
+        }
+        return pageRegistry;
+    }
+
+    /**
+     * Returns the leased WebDriver of this context to the pool, where it is reset for the next lease.
+     */
+    public void releaseWebDriver() {
+        WebDriver leased = webDriver;
+        webDriver = null;
+        frameContext = null;
+        pageRegistry = null;
+        authenticated = false;
+        LEASING_CONTEXTS.remove(this);
+        if (leased != null && driverPool != null) {
+            driverPool.release(leased);
+        }
+    }
+
+    /**
+     * Releases the sessions of all contexts that ran tests of the given TestNG test block,
+     * including worker threads other than the caller.
+     * @param testBlockName Name of the finished &lt;test&gt; block
+     */
+    public static void releaseWebDrivers(String testBlockName) {
+        for (ExecutionContext context : LEASING_CONTEXTS) {
+            if (testBlockName.equals(context.testBlockName)) {
+                context.releaseWebDriver();
+            }
+        }
+    }
+
+    /**
+     * Records the TestNG test block this context is currently running tests for.
+     * @param testBlockName Name of the running &lt;test&gt; block
+     */
+    public void setTestBlockName(String testBlockName) {
+        this.testBlockName = testBlockName;
+    }
+
+    /**
+     * Checks whether a WebDriver is bound to this context, without creating one.
+     * @return true if a WebDriver is bound, false otherwise
+     */
+    public boolean hasWebDriver() {
+        return webDriver != null;
+    }
+
+    /**
+     * Returns the report node that log entries of this thread are attached to.
+     * @return the current ExtentTest
+     */
+    public ExtentTest getExtentTest() {
+        return extentTest;
+    }
+
+    /**
+     * Sets the report node that log entries of this thread are attached to.
+     * @param extentTest ExtentTest node
+     */
+    public void setExtentTest(ExtentTest extentTest) {
+        this.extentTest = extentTest;
+    }
+
+    /**
+     * Checks whether the session of this context is logged in, as far as the framework knows.
+     * @return true after a restore on lease or a login, false after a logout or release
+     */
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    /**
+     * Records whether the session of this context is logged in.
+     * @param authenticated true after a login, false after a logout
+     */
+    public void setAuthenticated(boolean authenticated) {
+        this.authenticated = authenticated;
+    }
+
+    /**
+     * Returns the report log of this thread, attaching entries to the current report node in the background.
+     * @return the ReportLog of this context
+     */
+    public ReportLog getReportLog() {
+        return reportLog;
+    }
+
+    /**
+     * Returns the name of the worker thread this context is bound to.
+     * @return the worker name
+     */
+    public String getWorkerName() {
+        return workerName;
+    }
+
+    /**
+     * Returns the run data scope of this worker in the current run.
+     * @return the scope, run ID and worker name
+     */
+    public String getRunDataScope() {
+        return runDataScope;
+    }
+
+    /**
+     * Returns the scope this worker falls back to for run data it did not write.
+     * @return the bound scope, or null if none was bound yet
+     */
+    public String getRunDataFallbackScope() {
+        return runDataFallbackScope;
+    }
+
+    /**
+     * Binds the scope this worker falls back to for run data it did not write.
+     * @param runDataFallbackScope Scope of another chain
+     */
+    public void setRunDataFallbackScope(String runDataFallbackScope) {
+        this.runDataFallbackScope = runDataFallbackScope;
+    }
+}
@@ -0,0 +1,76 @@
+package base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * PageFactory locator factory for drivers running without implicit wait.
+ * Single element fields wait explicitly for presence (within the running {@link Deadline}),
+ * list fields return what is present right now. The driver is focused on the page's frame
+ * (see {@link PageFrame}) first, which only switches when it is focused elsewhere.
+ */
+public class ExplicitWaitElementLocatorFactory implements ElementLocatorFactory {
+
+    private static final DomWaitEngine DOM_WAIT_ENGINE = new DomWaitEngine();
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final Runnable enterFrame;
+
+    /**
+     * Creates a locator factory.
+     * @param driver     WebDriver the page elements are located in
+     * @param timeout    Maximum wait for a single element field to be present
+     * @param enterFrame Focuses the driver on the frame the page lives in, run before every lookup
+     */
+    public ExplicitWaitElementLocatorFactory(WebDriver driver, Duration timeout, Runnable enterFrame) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.enterFrame = enterFrame;
+    }
+
+    @Override
+    public ElementLocator createLocator(Field field) {
+        return new ExplicitWaitElementLocator(new Annotations(field).buildBy());
+    }
+
+    private class ExplicitWaitElementLocator implements ElementLocator {
+
+        private final By by;
+
+        private ExplicitWaitElementLocator(By by) {
+            this.by = by;
+        }
+
+        @Override
+        public WebElement findElement() {
+            enterFrame.run();
+            try {
+                return DOM_WAIT_ENGINE.waitFor(driver, by, DomWaitEngine.Condition.PRESENT, Deadline.remaining(timeout));
+            } catch (TimeoutException e) {
+                throw new NoSuchElementException("Cannot locate an element using " + by, e);
+            }
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            enterFrame.run();
+            return driver.findElements(by);
+        }
+
+        @Override
+        public String toString() {
+            return "Located by " + by;
+        }
+    }
+}
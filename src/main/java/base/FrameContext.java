@@ -0,0 +1,117 @@
+package base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Tracks which frame the driver of an execution context is focused on, so consecutive actions
+ * in the same frame reuse it and the driver only switches when the target sits in another context.
+ * Page objects declare their frame with {@link PageFrame} and do not switch back after a frame action;
+ * generic helpers act in whatever frame the driver is focused on.
+ */
+public final class FrameContext {
+
+    private static final DomWaitEngine DOM_WAIT_ENGINE = new DomWaitEngine();
+
+    private final WebDriver driver;
+
+    // Locator of the frame the driver is focused on, null for default content
+    private By currentFrame;
+
+    FrameContext(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Returns the frame a page object declares with {@link PageFrame}.
+     * @param pageClass Page object class
+     * @return locator of the frame element in default content, null for pages living in default content
+     */
+    public static By frameOf(Class<?> pageClass) {
+        PageFrame pageFrame = pageClass.getAnnotation(PageFrame.class);
+        return pageFrame == null ? null : By.xpath(pageFrame.xpath());
+    }
+
+    /**
+     * Checks whether the driver is still focused on the given frame.
+     * A top-level navigation drops the driver back to the top document and a re-rendered frame element
+     * detaches it; both reset the tracked frame.
+     * @param frameLocator Locator of the frame element in default content
+     * @return true if focused on the frame, false otherwise
+     */
+    public boolean isIn(By frameLocator) {
+        if (!frameLocator.equals(currentFrame)) {
+            return false;
+        }
+        try {
+            if (Boolean.FALSE.equals(((JavascriptExecutor) driver).executeScript("return window === window.top;"))) {
+                return true;
+            }
+        } catch (WebDriverException e) {
+            // Frame detached, the next switch starts over from default content
+            driver.switchTo().defaultContent();
+        }
+        currentFrame = null;
+        return false;
+    }
+
+    /**
+     * Focuses the driver on the given frame, unless it already is.
+     * @param frameLocator Locator of the frame element in default content
+     * @param timeout      Maximum wait for the frame to be visible
+     * @param beforeSwitch Action run in default content before switching, e.g. waiting for the page to settle
+     * @return the driver, focused on the frame
+     */
+    public WebDriver enter(By frameLocator, Duration timeout, Runnable beforeSwitch) {
+        if (isIn(frameLocator)) {
+            return driver;
+        }
+        ensureDefaultContent();
+        beforeSwitch.run();
+        WebElement frame = DOM_WAIT_ENGINE.waitFor(driver, frameLocator, DomWaitEngine.Condition.VISIBLE, timeout);
+        driver.switchTo().frame(frame);
+        currentFrame = frameLocator;
+        return driver;
+    }
+
+    /**
+     * Runs an action inside the given frame, switching only if the driver is focused elsewhere.
+     * The driver stays in the frame afterwards.
+     * @param frameLocator Locator of the frame element in default content
+     * @param timeout      Maximum wait for the frame to be visible
+     * @param action       Action to run in the frame
+     * @return the value returned by the action
+     */
+    public <T> T inFrame(By frameLocator, Duration timeout, Supplier<T> action) {
+        enter(frameLocator, timeout, () -> { });
+        return action.get();
+    }
+
+    /**
+     * Runs an action inside the given frame, switching only if the driver is focused elsewhere.
+     * The driver stays in the frame afterwards.
+     * @param frameLocator Locator of the frame element in default content
+     * @param timeout      Maximum wait for the frame to be visible
+     * @param action       Action to run in the frame
+     */
+    public void inFrame(By frameLocator, Duration timeout, Runnable action) {
+        enter(frameLocator, timeout, () -> { });
+        action.run();
+    }
+
+    /**
+     * Switches the driver back to default content if it is focused on a frame.
+     */
+    public void ensureDefaultContent() {
+        if (currentFrame != null) {
+            driver.switchTo().defaultContent();
+            currentFrame = null;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package base;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Headless "lean" execution mode for Chrome/Edge.
+ * Drops images, web fonts, analytics beacons and other third-party calls through CDP and counts
+ * what each test avoided, so the effect on page-load time can be read from the report.
+ */
+public class LeanBrowserMode {
+
+    private static final Map<WebDriver, LeanBrowserMode> INSTALLED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final List<String> LEAN_ARGUMENTS = List.of(
+            "--headless=new",
+            "--window-size=1920,1080",
+            "--disable-gpu",
+            "--disable-extensions",
+            "--disable-default-apps",
+            "--disable-sync",
+            "--disable-background-networking",
+            "--disable-component-update",
+            "--disable-features=Translate,OptimizationHints,MediaRouter",
+            "--no-first-run",
+            "--mute-audio");
+
+    private final List<String> blockedResourceTypes;
+    private final List<String> blockedUrlPatterns;
+    private final List<Pattern> allowedUrlPatterns;
+
+    private final Map<String, AtomicLong> avoidedRequests = new ConcurrentHashMap<>();
+    private final AtomicLong transferredBytes = new AtomicLong();
+
+    // Counters at the start of the running test
+    private volatile Map<String, Long> avoidedRequestsAtMark = Map.of();
+    private volatile long transferredBytesAtMark;
+
+    private LeanBrowserMode(Properties configProperties) {
+        String environment = configProperties.getProperty("environment");
+        this.blockedResourceTypes = splitProperty(configProperties, "leanBlockedResourceTypes", environment);
+        this.blockedUrlPatterns = splitProperty(configProperties, "leanBlockedUrlPatterns", environment);
+        this.allowedUrlPatterns = splitProperty(configProperties, "leanAllowedUrlPatterns", environment).stream()
+                .map(LeanBrowserMode::globToPattern)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks whether lean mode is enabled in config.
+     * @param configProperties Loaded config properties
+     * @return true if enabled, false otherwise
+     */
+    public static boolean isEnabled(Properties configProperties) {
+        return "true".equalsIgnoreCase(configProperties.getProperty("isLeanModeEnabled"));
+    }
+
+    /**
+     * Adds the headless lean flag set to Chrome/Edge options.
+     * @param options ChromeOptions or EdgeOptions
+     */
+    public static void applyArguments(ChromiumOptions<?> options) {
+        options.addArguments(LEAN_ARGUMENTS);
+    }
+
+    /**
+     * Installs URL blocking and resource-type interception on the given driver.
+     * Drivers without DevTools support are left untouched.
+     * @param webDriver        Newly created driver
+     * @param configProperties Loaded config properties
+     */
+    public static void install(WebDriver webDriver, Properties configProperties) {
+        if (!(webDriver instanceof HasDevTools)) {
+            System.out.println("Lean mode requires a Chromium based browser, running without request blocking");
+            return;
+        }
+        LeanBrowserMode leanBrowserMode = new LeanBrowserMode(configProperties);
+        leanBrowserMode.attach(((HasDevTools) webDriver).getDevTools());
+        INSTALLED.put(webDriver, leanBrowserMode);
+    }
+
+    /**
+     * Starts measuring the requests avoided by the test about to run on the given driver.
+     * @param webDriver Driver of the current test
+     */
+    public static void markTestStart(WebDriver webDriver) {
+        LeanBrowserMode leanBrowserMode = INSTALLED.get(webDriver);
+        if (leanBrowserMode != null) {
+            leanBrowserMode.avoidedRequestsAtMark = leanBrowserMode.snapshotAvoidedRequests();
+            leanBrowserMode.transferredBytesAtMark = leanBrowserMode.transferredBytes.get();
+        }
+    }
+
+    /**
+     * Describes the requests avoided and bytes transferred since the last {@link #markTestStart(WebDriver)}.
+     * @param webDriver Driver of the current test
+     * @return summary for the report, or null if lean mode is not installed on the driver
+     */
+    public static String describeSinceTestStart(WebDriver webDriver) {
+        LeanBrowserMode leanBrowserMode = INSTALLED.get(webDriver);
+        if (leanBrowserMode == null) {
+            return null;
+        }
+        Map<String, Long> current = leanBrowserMode.snapshotAvoidedRequests();
+        long total = 0;
+        List<String> perCategory = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : current.entrySet()) {
+            long avoided = entry.getValue() - leanBrowserMode.avoidedRequestsAtMark.getOrDefault(entry.getKey(), 0L);
+            if (avoided > 0) {
+                perCategory.add(entry.getKey() + ": " + avoided);
+                total += avoided;
+            }
+        }
+        long transferred = leanBrowserMode.transferredBytes.get() - leanBrowserMode.transferredBytesAtMark;
+        return "Lean mode avoided " + total + " request(s) " + perCategory
+                + ", " + (transferred / 1024) + " KB transferred by the remaining requests";
+    }
+
+    private void attach(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(new Command<Void>("Network.enable", Map.of()));
+        if (!blockedUrlPatterns.isEmpty()) {
+            devTools.send(new Command<Void>("Network.setBlockedURLs", Map.of("urls", blockedUrlPatterns)));
+        }
+
+        // Requests dropped by the URL block list never reach the network and surface as failed loads
+        devTools.addListener(mapEvent("Network.loadingFailed"), params -> {
+            if (params.get("blockedReason") != null) {
+                count("blocked URL");
+            }
+        });
+        devTools.addListener(mapEvent("Network.loadingFinished"), params ->
+                transferredBytes.addAndGet(((Number) params.getOrDefault("encodedDataLength", 0)).longValue()));
+
+        if (!blockedResourceTypes.isEmpty()) {
+            List<Map<String, Object>> patterns = new ArrayList<>();
+            for (String resourceType : blockedResourceTypes) {
+                patterns.add(Map.of("urlPattern", "*", "resourceType", resourceType, "requestStage", "Request"));
+            }
+            devTools.addListener(mapEvent("Fetch.requestPaused"), params -> {
+                String requestId = params.get("requestId").toString();
+                String url = String.valueOf(((Map<String, Object>) params.get("request")).get("url"));
+                if (isAllowed(url)) {
+                    devTools.send(new Command<Void>("Fetch.continueRequest", Map.of("requestId", requestId)));
+                } else {
+                    count(String.valueOf(params.get("resourceType")).toLowerCase());
+                    devTools.send(new Command<Void>("Fetch.failRequest",
+                            Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+                }
+            });
+            devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", patterns)));
+        }
+    }
+
+    private boolean isAllowed(String url) {
+        for (Pattern allowedUrlPattern : allowedUrlPatterns) {
+            if (allowedUrlPattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void count(String category) {
+        avoidedRequests.computeIfAbsent(category, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private Map<String, Long> snapshotAvoidedRequests() {
+        return avoidedRequests.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get()));
+    }
+
+    private static Event<Map<String, Object>> mapEvent(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    /**
+     * Reads a comma separated property, preferring the environment specific key (e.g. leanBlockedUrlPatterns.TEST).
+     */
+    private static List<String> splitProperty(Properties configProperties, String key, String environment) {
+        String value = configProperties.getProperty(key + "." + environment, configProperties.getProperty(key, ""));
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static Pattern globToPattern(String glob) {
+        return Pattern.compile(Arrays.stream(glob.split("\\*", -1))
+                .map(Pattern::quote)
+                .collect(Collectors.joining(".*")));
+    }
+}
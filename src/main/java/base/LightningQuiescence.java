@@ -0,0 +1,141 @@
+package base;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Salesforce Lightning quiescence detector.
+ * An instrumentation script tracks in-flight XHR/fetch requests to Aura, LWC and CPQ remoting endpoints
+ * (streaming and long-poll connections are ignored), pending Aura actions and visible spinners
+ * (light DOM, plus known spinners inside shadow roots), and exposes one "app is idle" signal.
+ */
+public class LightningQuiescence {
+
+    private static final String INSTRUMENTATION_SCRIPT =
+            "(function () {"
+            + "  if (window.__sfQuiescence) { return; }"
+            + "  var state = {inFlight: 0, lastActivity: Date.now()};"
+            + "  function begin() { state.inFlight++; state.lastActivity = Date.now(); }"
+            + "  function end() { state.inFlight = Math.max(0, state.inFlight - 1); state.lastActivity = Date.now(); }"
+            // Only Aura, LWC and CPQ remoting calls: streaming and long-poll connections (CometD, EMP) never settle
+            + "  function isTracked(url) { return /\\/aura|\\/webruntime\\/|apexremote/i.test(String(url || '')); }"
+            + "  var originalOpen = XMLHttpRequest.prototype.open;"
+            + "  XMLHttpRequest.prototype.open = function (method, url) {"
+            + "    this.__sfTracked = isTracked(url);"
+            + "    return originalOpen.apply(this, arguments);"
+            + "  };"
+            + "  var originalSend = XMLHttpRequest.prototype.send;"
+            + "  XMLHttpRequest.prototype.send = function () {"
+            + "    if (!this.__sfTracked) { return originalSend.apply(this, arguments); }"
+            + "    var settled = false;"
+            + "    function settle() { if (!settled) { settled = true; end(); } }"
+            + "    begin();"
+            + "    this.addEventListener('loadend', settle);"
+            + "    try { return originalSend.apply(this, arguments); } catch (e) { settle(); throw e; }"
+            + "  };"
+            + "  if (window.fetch) {"
+            + "    var originalFetch = window.fetch;"
+            + "    window.fetch = function (resource) {"
+            + "      if (!isTracked(resource && resource.url ? resource.url : resource)) {"
+            + "        return originalFetch.apply(this, arguments);"
+            + "      }"
+            + "      begin();"
+            + "      try {"
+            + "        return originalFetch.apply(this, arguments).then("
+            + "          function (r) { end(); return r; }, function (e) { end(); throw e; });"
+            + "      } catch (e) { end(); throw e; }"
+            + "    };"
+            + "  }"
+            + "  var SPINNERS = '.slds-spinner_container, .slds-spinner, lightning-spinner, .forceInlineSpinner';"
+            + "  function isShown(el) {"
+            + "    var rect = el.getBoundingClientRect();"
+            + "    if (rect.width === 0 && rect.height === 0) { return false; }"
+            + "    var style = window.getComputedStyle(el);"
+            + "    return style.visibility === 'visible' && style.display !== 'none' && style.opacity !== '0';"
+            + "  }"
+            // Spinners inside real shadow roots, as selector chains through each host's shadow root (CPQ mask)
+            + "  var SHADOW_SPINNERS = [['#sbPageContainer', '#spinner', '#mask']];"
+            + "  function resolve(chain) {"
+            + "    var node = document.querySelector(chain[0]);"
+            + "    for (var i = 1; i < chain.length && node; i++) {"
+            + "      node = node.shadowRoot ? node.shadowRoot.querySelector(chain[i]) : null;"
+            + "    }"
+            + "    return node;"
+            + "  }"
+            + "  function hasVisibleSpinner() {"
+            + "    var spinners = document.querySelectorAll(SPINNERS);"
+            + "    for (var i = 0; i < spinners.length; i++) { if (isShown(spinners[i])) { return true; } }"
+            + "    for (var j = 0; j < SHADOW_SPINNERS.length; j++) {"
+            + "      var spinner = resolve(SHADOW_SPINNERS[j]);"
+            + "      if (spinner && isShown(spinner)) { return true; }"
+            + "    }"
+            + "    return false;"
+            + "  }"
+            + "  function pendingAuraActions() {"
+            + "    try {"
+            + "      var clientService = window.$A && window.$A.clientService;"
+            + "      return clientService && typeof clientService.inFlightXHRs === 'function' ? clientService.inFlightXHRs() : 0;"
+            + "    } catch (e) { return 0; }"
+            + "  }"
+            + "  window.__sfQuiescence = {"
+            + "    isIdle: function (quietMillis) {"
+            + "      if (state.inFlight > 0 || Date.now() - state.lastActivity < quietMillis) { return false; }"
+            + "      if (document.readyState !== 'complete' || pendingAuraActions() > 0) { return false; }"
+            + "      return !hasVisibleSpinner();"
+            + "    }"
+            + "  };"
+            + "})();";
+
+    private static final String WAIT_SCRIPT =
+            "var done = arguments[arguments.length - 1], quietMillis = arguments[0], timeoutMs = arguments[1];"
+            + "if (!window.__sfQuiescence) { " + INSTRUMENTATION_SCRIPT + " }"
+            + "var deadline = Date.now() + timeoutMs;"
+            + "(function poll() {"
+            + "  if (window.__sfQuiescence.isIdle(quietMillis)) { done(true); return; }"
+            + "  if (Date.now() >= deadline) { done(false); return; }"
+            + "  setTimeout(poll, 50);"
+            + "})();";
+
+    private final long quietMillis;
+
+    /**
+     * Creates a quiescence detector.
+     * @param quietMillis Time without network activity required before the app counts as idle
+     */
+    public LightningQuiescence(long quietMillis) {
+        this.quietMillis = quietMillis;
+    }
+
+    /**
+     * Registers the instrumentation script to run before any page script on every new document,
+     * so requests started during page load are tracked too. Non-Chromium drivers are instrumented
+     * lazily on the first wait instead.
+     * @param webDriver Newly created driver
+     */
+    public static void register(WebDriver webDriver) {
+        if (webDriver instanceof ChromiumDriver) {
+            ((ChromiumDriver) webDriver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", INSTRUMENTATION_SCRIPT));
+        }
+    }
+
+    /**
+     * Waits until no Aura/LWC request or Aura action is pending and no spinner is visible.
+     * @param driver  WebDriver (or frame-focused driver) to wait on
+     * @param timeout Maximum wait time
+     * @throws TimeoutException if the app does not become idle in time
+     */
+    public void waitForIdle(WebDriver driver, Duration timeout) {
+        Boolean idle = DomWaitEngine.runInChunks(timeout, (chunkMillis, lastChunk) ->
+                Boolean.TRUE.equals(((JavascriptExecutor) driver).executeAsyncScript(WAIT_SCRIPT, quietMillis, chunkMillis))
+                        ? Boolean.TRUE : null);
+        if (idle == null) {
+            throw new TimeoutException("Timed out after " + timeout.getSeconds() + " seconds waiting for the application to be idle");
+        }
+    }
+}
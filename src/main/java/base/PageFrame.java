@@ -0,0 +1,25 @@
+package base;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the iframe a page object lives in. Pages without it live in default content.
+ * Its @FindBy fields and {@link BaseTest#enterPageFrame()} focus the driver on this frame,
+ * switching only when the driver is focused elsewhere.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PageFrame {
+
+    /**
+     * @return XPath of the iframe element in default content
+     */
+    String xpath();
+}
@@ -0,0 +1,69 @@
+package base;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Page objects of one browser session. Every page is created once per session and shares
+ * the session's {@link SeleniumLib} and {@link Common}, so constructing pages repeatedly in
+ * tests does not re-run PageFactory or re-resolve elements that are still valid.
+ * Owned by an {@link ExecutionContext} and dropped with its WebDriver, hence not thread-safe.
+ */
+public final class PageRegistry {
+
+    private final Map<Class<?>, Object> pages = new HashMap<>();
+    private SeleniumLib seleniumLib;
+    private Common common;
+
+    PageRegistry() {
+    }
+
+    /**
+     * Returns the page of the given type, creating it with its no-argument constructor on first use.
+     * @param pageClass Page object class
+     * @return the page object of this session
+     */
+    public <T> T get(Class<T> pageClass) {
+        Object page = pages.get(pageClass);
+        if (page == null) {
+            // Not computeIfAbsent: page constructors look up the shared helpers of this registry
+            page = create(pageClass);
+            pages.put(pageClass, page);
+        }
+        return pageClass.cast(page);
+    }
+
+    /**
+     * @return the SeleniumLib shared by the pages of this session
+     */
+    public SeleniumLib getSeleniumLib() {
+        if (seleniumLib == null) {
+            seleniumLib = new SeleniumLib();
+        }
+        return seleniumLib;
+    }
+
+    /**
+     * @return the Common actions shared by the pages of this session
+     */
+    public Common getCommon() {
+        if (common == null) {
+            common = new Common(getSeleniumLib());
+        }
+        return common;
+    }
+
+    private static <T> T create(Class<T> pageClass) {
+        try {
+            return pageClass.getDeclaredConstructor().newInstance();
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Cannot create page " + pageClass.getName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create page " + pageClass.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package base;
+
+import api.CleanupRegistry;
+
+/**
+ * Cleanup mode: deletes the records left in the cleanup registry by all runs (e.g. runs with
+ * cleanupAfterRun off, without API credentials, or that crashed) without running any test. Run with
+ * {@code mvn compile exec:java -Dexec.mainClass=base.RecordCleanup}.
+ */
+public class RecordCleanup extends BaseTest {
+
+    /**
+     * Deletes the registered records; exits with status 1 if any could not be deleted.
+     * @param args Unused
+     */
+    public static void main(String[] args) {
+        RecordCleanup recordCleanup = new RecordCleanup();
+        recordCleanup.loadConfigProperties();
+        CleanupRegistry.Report report = recordCleanup.cleanUpRecords(false);
+        System.exit(report.getFailedCount() == 0 ? 0 : 1);
+    }
+}
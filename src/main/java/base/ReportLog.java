@@ -0,0 +1,220 @@
+package base;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.Markup;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Media;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report log of a worker thread. Logging only appends an event to the thread's lock-free buffer,
+ * tagged with the thread's report node at that moment; a background consumer attaches the buffered events
+ * to their ExtentTest nodes and flushes the report periodically, so a crash mid-run keeps the report
+ * up to the last flush. ExtentTest nodes are written by the consumer only.
+ */
+public final class ReportLog {
+
+    // Buffers of all threads that ever logged, drained by the consumer
+    private static final Set<ReportLog> LOGS = ConcurrentHashMap.newKeySet();
+
+    private static ExtentReports extentReports;
+    private static ScheduledExecutorService consumer;
+
+    private final ExecutionContext context;
+    private final Queue<Event> buffer = new ConcurrentLinkedQueue<>();
+
+    ReportLog(ExecutionContext context) {
+        this.context = context;
+        LOGS.add(this);
+    }
+
+    /**
+     * Starts the background consumer.
+     * @param reports       Report the events are written to
+     * @param drainInterval Interval at which buffered events are attached to their nodes
+     * @param flushInterval Interval at which the report file is written
+     */
+    public static synchronized void start(ExtentReports reports, Duration drainInterval, Duration flushInterval) {
+        extentReports = reports;
+        consumer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        consumer.scheduleWithFixedDelay(ReportLog::drain, drainInterval.toMillis(), drainInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        consumer.scheduleWithFixedDelay(ReportLog::scheduledFlush, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the consumer, attaches the events still buffered and flushes the report.
+     */
+    public static synchronized void stop() {
+        if (consumer != null) {
+            consumer.shutdownNow();
+            consumer = null;
+        }
+        flush();
+    }
+
+    /**
+     * Attaches all buffered events to their report nodes, in the order each thread logged them.
+     */
+    public static synchronized void drain() {
+        for (ReportLog log : LOGS) {
+            Event event;
+            while ((event = log.buffer.poll()) != null) {
+                try {
+                    event.attach();
+                } catch (RuntimeException e) {
+                    // A failing entry must not cancel the scheduled drain
+                    System.out.println("Failed to attach report entry '" + event.details + "': " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Attaches all buffered events and writes the report file.
+     */
+    public static synchronized void flush() {
+        drain();
+        if (extentReports != null) {
+            extentReports.flush();
+        }
+    }
+
+    /**
+     * Creates a top-level report node. Node creation goes through the consumer's lock,
+     * so it never runs while the consumer attaches events or writes the report.
+     * @param name        Node name
+     * @param description Node description
+     * @return created node
+     */
+    public static synchronized ExtentTest createTest(String name, String description) {
+        return extentReports.createTest(name, description);
+    }
+
+    private static synchronized void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // A failing flush must not cancel the scheduled flushes
+            System.out.println("Failed to flush the report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Logs an info entry on the thread's current report node.
+     * @param details Log text
+     */
+    public void info(String details) {
+        log(Status.INFO, details, null);
+    }
+
+    /**
+     * Logs a pass entry on the thread's current report node.
+     * @param details Log text
+     */
+    public void pass(String details) {
+        log(Status.PASS, details, null);
+    }
+
+    /**
+     * Logs a warning entry on the thread's current report node.
+     * @param details Log text
+     */
+    public void warning(String details) {
+        log(Status.WARNING, details, null);
+    }
+
+    /**
+     * Logs a failure entry on the thread's current report node.
+     * @param details Log text
+     */
+    public void fail(String details) {
+        log(Status.FAIL, details, null);
+    }
+
+    /**
+     * Logs a failure entry with a screenshot on the thread's current report node.
+     * @param details Log text
+     * @param media   Screenshot
+     */
+    public void fail(String details, Media media) {
+        log(Status.FAIL, details, media);
+    }
+
+    /**
+     * Logs an entry of the given status on the thread's current report node.
+     * @param status  Log status
+     * @param details Log text
+     */
+    public void log(Status status, String details) {
+        log(status, details, null);
+    }
+
+    /**
+     * Logs a markup entry (e.g. a label) of the given status on the thread's current report node.
+     * @param status Log status
+     * @param markup Markup to log
+     */
+    public void log(Status status, Markup markup) {
+        log(status, markup.getMarkup(), null);
+    }
+
+    private void log(Status status, String details, Media media) {
+        buffer.offer(new Event(context.getExtentTest(), status, details, media, new Date()));
+    }
+
+    /**
+     * A log entry waiting to be attached to its report node.
+     */
+    private static final class Event {
+
+        private final ExtentTest node;
+        private final Status status;
+        private final String details;
+        private final Media media;
+        private final Date timestamp;
+
+        private Event(ExtentTest node, Status status, String details, Media media, Date timestamp) {
+            this.node = node;
+            this.status = status;
+            this.details = details;
+            this.media = media;
+            this.timestamp = timestamp;
+        }
+
+        private void attach() {
+            if (node == null) {
+                // Logged before the thread had a report node
+                System.out.println("[" + status + "] " + details);
+                return;
+            }
+            if (media != null) {
+                node.log(status, details, media);
+            } else {
+                node.log(status, details);
+            }
+            // Keep the time of the logging call, not of the attachment
+            List<Log> logs = node.getModel().getLogs();
+            if (!logs.isEmpty()) {
+                logs.get(logs.size() - 1).setTimestamp(timestamp);
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package base;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the rows of a sequential data provider on a fixed number of worker threads.
+ * Submitting blocks while all workers are busy, so TestNG pulls the next row only when a worker is free
+ * and a streamed data provider never reads further ahead than its own buffer. Every worker leases its own
+ * pooled browser session on first use and returns it when the pool is closed.
+ */
+public final class RowWorkerPool {
+
+    private final ExecutorService executor;
+    private final Semaphore freeWorkers;
+    private final int workerCount;
+    private final Map<String, String> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /**
+     * Creates a worker pool.
+     * @param name        Prefix of the worker thread names
+     * @param workerCount Number of rows run at the same time
+     */
+    public RowWorkerPool(String name, int workerCount) {
+        this.workerCount = Math.max(1, workerCount);
+        this.freeWorkers = new Semaphore(this.workerCount);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.workerCount, runnable -> new Thread(() -> {
+            try {
+                runnable.run();
+            } finally {
+                // The worker's session goes back to the pool when the worker ends
+                ExecutionContext.current().releaseWebDriver();
+            }
+        }, name + "-" + threadNumber.incrementAndGet()));
+    }
+
+    /**
+     * Runs a row on the next free worker, waiting for one if all are busy.
+     * A failing row is recorded, see {@link #awaitCompletion(long)}.
+     * @param rowName Name of the row, used in the failure summary
+     * @param row     Row test
+     */
+    public void submit(String rowName, Runnable row) {
+        try {
+            freeWorkers.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free worker", e);
+        }
+        executor.execute(() -> {
+            try {
+                row.run();
+            } catch (Throwable e) {
+                failures.put(rowName, String.valueOf(e));
+            } finally {
+                freeWorkers.release();
+            }
+        });
+    }
+
+    /**
+     * Waits until all submitted rows finished and stops the workers, returning their sessions to the pool.
+     * @param timeoutSeconds Maximum wait time
+     * @return failure message by row name, empty if all rows passed
+     */
+    public Map<String, String> awaitCompletion(long timeoutSeconds) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+                failures.put("(" + (workerCount - freeWorkers.availablePermits()) + " unfinished rows)",
+                        "timed out after " + timeoutSeconds + " seconds");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        synchronized (failures) {
+            return new LinkedHashMap<>(failures);
+        }
+    }
+}
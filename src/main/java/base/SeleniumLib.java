@@ -1,25 +1,26 @@
 package base;
 
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.ExpectedCondition;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.FluentWait;
-import org.openqa.selenium.support.ui.Wait;
 
 import java.time.Duration;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Utility class for common Selenium operations.
+ * Locator based lookups run in the frame the driver is focused on; callers enter their page's frame first.
  */
 public class SeleniumLib extends BaseTest {
 
+    private final DomWaitEngine domWaitEngine = new DomWaitEngine();
+
     /**
      * Waits for the given element to be visible on the page.
      * @param element WebElement to wait for
      */
     public void waitForElementToBeVisible(WebElement element) {
-        getWait(null).until(ExpectedConditions.visibilityOf(element));
+        domWaitEngine.waitFor(getWebDriver(), element, DomWaitEngine.Condition.VISIBLE, getTimeout(null));
     }
 
     /**
@@ -29,28 +30,44 @@ public class SeleniumLib extends BaseTest {
      */
     public WebElement waitForElementToBeVisible(By by) {
         try {
-            getWait(null).until(ExpectedConditions.visibilityOfElementLocated(by));
-            return webDriver.findElement(by);
+            return domWaitEngine.waitFor(getWebDriver(), by, DomWaitEngine.Condition.VISIBLE, getTimeout(null));
         } catch (Exception e) {
-            extentTest.warning("Exception in waitForElementToBeVisible: " + e.getMessage());
+            getReportLog().warning("Exception in waitForElementToBeVisible: " + e.getMessage());
             return null;
         }
     }
 
     /**
-     * Returns a FluentWait instance with the specified timeout.
+     * Returns the first element matching the locator if it is present right now, without waiting.
+     * @param by By locator
+     * @return the element, or an empty Optional if not present
+     */
+    public Optional<WebElement> findOptional(By by) {
+        return getWebDriver().findElements(by).stream().findFirst();
+    }
+
+    /**
+     * Waits for an element matching the locator to be present, within the running {@link Deadline}.
+     * @param by By locator
+     * @return the element
+     * @throws NoSuchElementException if the element is not present in time
+     */
+    public WebElement findElement(By by) {
+        try {
+            return domWaitEngine.waitFor(getWebDriver(), by, DomWaitEngine.Condition.PRESENT, getTimeout(null));
+        } catch (TimeoutException e) {
+            throw new NoSuchElementException("Cannot locate an element using " + by, e);
+        }
+    }
+
+    /**
+     * Returns the wait timeout, capped by the budget left in the running {@link Deadline}.
      * @param maxTime Maximum wait time in seconds (if null, uses default from config)
-     * @return Wait<WebDriver>
+     * @return Duration of the wait
      */
-    private Wait<WebDriver> getWait(Integer maxTime) {
+    private Duration getTimeout(Integer maxTime) {
         int timeout = (maxTime == null) ? Integer.parseInt(configProperties.getProperty("maxWait")) : maxTime;
-        return new FluentWait<>(webDriver)
-                .withTimeout(Duration.ofSeconds(timeout))
-                .pollingEvery(Duration.ofMillis(1000))
-                .ignoring(NoSuchElementException.class)
-                .ignoring(ElementClickInterceptedException.class)
-                .ignoring(InvalidElementStateException.class)
-                .ignoring(StaleElementReferenceException.class);
+        return Deadline.remaining(Duration.ofSeconds(timeout));
     }
 
     /**
@@ -58,7 +75,7 @@ public class SeleniumLib extends BaseTest {
      * @return JavascriptExecutor
      */
     public JavascriptExecutor getJavascriptExecutor() {
-        return (JavascriptExecutor) webDriver;
+        return (JavascriptExecutor) getWebDriver();
     }
 
     /**
@@ -77,7 +94,7 @@ public class SeleniumLib extends BaseTest {
         try {
             getJavascriptExecutor().executeScript("arguments[0].click();", element);
         } catch (Exception e) {
-            extentTest.fail("Error performing JavaScript click: " + e.getMessage());
+            getReportLog().fail("Error performing JavaScript click: " + e.getMessage());
             throw e;
         }
     }
@@ -91,7 +108,7 @@ public class SeleniumLib extends BaseTest {
         try {
             getJavascriptExecutor().executeScript("arguments[0].setAttribute('value', '" + value + "')", element);
         } catch (Exception e) {
-            extentTest.fail("Error setting value using JavaScript: " + e.getMessage());
+            getReportLog().fail("Error setting value using JavaScript: " + e.getMessage());
             throw e;
         }
     }
@@ -103,9 +120,9 @@ public class SeleniumLib extends BaseTest {
     public void waitForElementToBeInvisible(By by) {
         try {
             int maxTime = Integer.parseInt(configProperties.getProperty("maxWait"));
-            getWait(maxTime).until(ExpectedConditions.invisibilityOfElementLocated(by));
+            domWaitEngine.waitFor(getWebDriver(), by, DomWaitEngine.Condition.INVISIBLE, getTimeout(maxTime));
         } catch (Exception e) {
-            extentTest.warning("Exception in waitForElementToBeInvisible: " + e.getMessage());
+            getReportLog().warning("Exception in waitForElementToBeInvisible: " + e.getMessage());
         }
     }
 
@@ -116,9 +133,9 @@ public class SeleniumLib extends BaseTest {
      */
     public WebElement waitForElementToBeClickable(WebElement element) {
         try {
-            return getWait(null).until(ExpectedConditions.elementToBeClickable(element));
+            return domWaitEngine.waitFor(getWebDriver(), element, DomWaitEngine.Condition.CLICKABLE, getTimeout(null));
         } catch (Exception e) {
-            extentTest.warning("Exception in waitForElementToBeClickable: " + e.getMessage());
+            getReportLog().warning("Exception in waitForElementToBeClickable: " + e.getMessage());
             return null;
         }
     }
@@ -128,22 +145,22 @@ public class SeleniumLib extends BaseTest {
      */
     public void waitForPageToLoad() {
         try {
-            JavascriptExecutor js = (JavascriptExecutor) webDriver;
-            ExpectedCondition<Boolean> jsLoad = webDriver -> Objects.requireNonNull(
-                    ((JavascriptExecutor) webDriver).executeScript("return document.readyState"))
+            JavascriptExecutor js = (JavascriptExecutor) getWebDriver();
+            Function<WebDriver, Boolean> jsLoad = driver -> Objects.requireNonNull(
+                    ((JavascriptExecutor) driver).executeScript("return document.readyState"))
                     .toString().equals("complete");
 
             boolean jsReady = Objects.requireNonNull(js.executeScript("return document.readyState"))
                     .toString().equals("complete");
             if (!jsReady) {
-                getWait(null).until(jsLoad);
+                domWaitEngine.pollUntil(getWebDriver(), jsLoad, getTimeout(null), "document to be ready");
             } else {
-                extentTest.info("Page is already loaded.");
+                getReportLog().info("Page is already loaded.");
             }
         } catch (NoSuchWindowException nsw) {
-            extentTest.warning(nsw.getMessage());
+            getReportLog().warning(nsw.getMessage());
         } catch (Exception e) {
-            extentTest.warning("Exception while waiting for the page to load: " + e.getMessage());
+            getReportLog().warning("Exception while waiting for the page to load: " + e.getMessage());
         }
     }
 }
\ No newline at end of file
@@ -6,7 +6,6 @@ import base.SeleniumLib;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 /**
  * Page Object Model for the Accounts page.
@@ -16,14 +15,18 @@ public class AccountsPage extends BaseTest {
     private Common common;
     private SeleniumLib seleniumLib;
 
+    private final LightningPicklist accountStatusPicklist = new LightningPicklist("Account Status");
+    private final LightningPicklist accountCurrencyPicklist = new LightningPicklist("Account Currency");
+    private final LightningPicklist accountSourcePicklist = new LightningPicklist("Account Source");
+
     /**
      * Constructor initializes page elements and utility classes.
      */
     public AccountsPage() {
         super();
-        PageFactory.initElements(webDriver, this);
-        this.seleniumLib = new SeleniumLib();
-        this.common = new Common(seleniumLib);
+        initElements(this);
+        this.seleniumLib = getSeleniumLib();
+        this.common = getCommon();
     }
 
     // Web elements on the Accounts page
@@ -36,23 +39,15 @@ public class AccountsPage extends BaseTest {
     @FindBy(xpath = "//input[@name='Name']")
     private WebElement accountNameInput;
 
-    @FindBy(xpath = "//*[@field-label='Account Status']//span[@part='input-button-value']")
-    private WebElement accountStatusDropdown;
-
-    @FindBy(xpath = "//*[@field-label='Account Currency']//span[@part='input-button-value']")
-    private WebElement accountCurrencyDropdown;
-
-    @FindBy(xpath = "//*[@field-label='Account Source']//span[@part='input-button-value']")
-    private WebElement accountSourceDropdown;
-
     /**
      * Waits until the Accounts tab is visible.
      */
     public void waitUntilAccountsTabIsVisible() {
         By accountsTabLocator = By.xpath("//one-app-nav-bar-item-root[@data-id='Account']//a[@role='button']");
-        common.waitForLoadingSpinnerToBeInvisible();
+        enterPageFrame();
+        common.waitForApplicationIdle();
         seleniumLib.waitForElementToBeVisible(accountsTabLocator);
-        extentTest.info("Accounts tab is now visible on the page.");
+        getReportLog().info("Accounts tab is now visible on the page.");
     }
 
     /**
@@ -60,9 +55,9 @@ public class AccountsPage extends BaseTest {
      */
     public void clickNewAccountFromDropdown() {
         accountsTabDropdownBtn.click();
-        extentTest.info("Clicked on Accounts tab dropdown button");
+        getReportLog().info("Clicked on Accounts tab dropdown button");
         seleniumLib.javascriptClick(newAccountLink);
-        extentTest.info("Clicked on New Account link from dropdown");
+        getReportLog().info("Clicked on New Account link from dropdown");
     }
 
     /**
@@ -72,7 +67,7 @@ public class AccountsPage extends BaseTest {
      */
     public boolean isAccountsDialogHeaderTextCorrect(String expectedHeader) {
         String actualHeader = common.getActionBodyHeaderText();
-        extentTest.info("Expected header: " + expectedHeader + ", Actual header: " + actualHeader);
+        getReportLog().info("Expected header: " + expectedHeader + ", Actual header: " + actualHeader);
         return actualHeader.equals(expectedHeader);
     }
 
@@ -82,9 +77,12 @@ public class AccountsPage extends BaseTest {
      */
     public void selectAccountsRecordType(String recordType) {
         By recordTypeLocator = By.xpath("//div[@class='changeRecordTypeOptionRightColumn']/span[text()='" + recordType + "']/../../div/input[@type='radio']");
-        WebElement recordTypeRadioBtn = webDriver.findElement(recordTypeLocator);
-        seleniumLib.javascriptClick(recordTypeRadioBtn);
-        extentTest.info("Selected record type: " + recordType);
+        enterPageFrame();
+        withinActionBudget(() -> {
+            WebElement recordTypeRadioBtn = seleniumLib.findElement(recordTypeLocator);
+            seleniumLib.javascriptClick(recordTypeRadioBtn);
+        });
+        getReportLog().info("Selected record type: " + recordType);
     }
 
     /**
@@ -100,7 +98,7 @@ public class AccountsPage extends BaseTest {
      */
     public void enterAccountName(String accountName) {
         accountNameInput.sendKeys(accountName);
-        extentTest.info("Entered account name: " + accountName);
+        getReportLog().info("Entered account name: " + accountName);
     }
 
     /**
@@ -108,11 +106,8 @@ public class AccountsPage extends BaseTest {
      * @param accountStatus Status to select
      */
     public void selectAccountStatus(String accountStatus) {
-        accountStatusDropdown.click();
-        By accountStatusOptionLocator = By.xpath("//*[@field-label='Account Status']//div[@part='dropdown overlay']//span[text()='" + accountStatus + "']");
-        WebElement accountStatusOption = webDriver.findElement(accountStatusOptionLocator);
-        seleniumLib.javascriptClick(accountStatusOption);
-        extentTest.info("Selected account status: " + accountStatus);
+        enterPageFrame();
+        accountStatusPicklist.select(accountStatus);
     }
 
     /**
@@ -120,12 +115,8 @@ public class AccountsPage extends BaseTest {
      * @param currency Currency to select
      */
     public void selectAccountCurrency(String currency) {
-        seleniumLib.scrollToElement(accountCurrencyDropdown);
-        accountCurrencyDropdown.click();
-        By accountCurrencyOptionLocator = By.xpath("//*[@field-label='Account Currency']//div[@part='dropdown overlay']//span[text()='" + currency + "']");
-        WebElement accountCurrencyOption = webDriver.findElement(accountCurrencyOptionLocator);
-        seleniumLib.javascriptClick(accountCurrencyOption);
-        extentTest.info("Selected account currency: " + currency);
+        enterPageFrame();
+        accountCurrencyPicklist.select(currency);
     }
 
     /**
@@ -133,12 +124,8 @@ public class AccountsPage extends BaseTest {
      * @param accountSource Source to select
      */
     public void selectAccountSource(String accountSource) {
-        seleniumLib.scrollToElement(accountSourceDropdown);
-        accountSourceDropdown.click();
-        By accountSourceOptionLocator = By.xpath("//*[@field-label='Account Source']//div[@part='dropdown overlay']//span[text()='" + accountSource + "']");
-        WebElement accountSourceOption = webDriver.findElement(accountSourceOptionLocator);
-        accountSourceOption.click();
-        extentTest.info("Selected account source: " + accountSource);
+        enterPageFrame();
+        accountSourcePicklist.select(accountSource);
     }
 
     /**
@@ -156,7 +143,7 @@ public class AccountsPage extends BaseTest {
      */
     public boolean isAccountNameDisplayed(String entityLabel, String expectedAccountName) {
         String actualAccountName = common.getPrimaryFieldText(entityLabel);
-        extentTest.info("Expected account name: " + expectedAccountName + ", Actual account name: " + actualAccountName);
+        getReportLog().info("Expected account name: " + expectedAccountName + ", Actual account name: " + actualAccountName);
         return actualAccountName.equals(expectedAccountName);
     }
 }
\ No newline at end of file
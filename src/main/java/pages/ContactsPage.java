@@ -3,10 +3,8 @@ package pages;
 import base.BaseTest;
 import base.Common;
 import base.SeleniumLib;
-import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 /**
  * Page Object Model for the Contacts page.
@@ -16,11 +14,16 @@ public class ContactsPage extends BaseTest {
     private Common common;
     private SeleniumLib seleniumLib;
 
+    private final LightningPicklist salutationPicklist = new LightningPicklist("Salutation");
+    private final LightningLookup accountNameLookup = new LightningLookup("Account Name");
+    private final LightningPicklist primaryLanguagePicklist = new LightningPicklist("Primary Language");
+    private final LightningPicklist leadSourcePicklist = new LightningPicklist("Lead Source");
+
     public ContactsPage() {
         super();
-        PageFactory.initElements(webDriver, this);
-        this.seleniumLib = new SeleniumLib();
-        this.common = new Common(seleniumLib);
+        initElements(this);
+        this.seleniumLib = getSeleniumLib();
+        this.common = getCommon();
     }
 
     @FindBy(xpath = "//one-app-nav-bar-item-root[@data-id='Contact']//a[@role='button']")
@@ -29,34 +32,22 @@ public class ContactsPage extends BaseTest {
     @FindBy(xpath = "//div[@class='menuItemsWrapper']//span[text()='New Contact']")
     private WebElement newContactMenuItem;
 
-    @FindBy(xpath = "//*[@aria-label='Salutation']//span[@part='input-button-value']")
-    private WebElement salutationDropdownBtn;
-
     @FindBy(xpath = "//input[@name='firstName']")
     private WebElement firstNameInput;
 
     @FindBy(xpath = "//input[@name='lastName']")
     private WebElement lastNameInput;
 
-    @FindBy(xpath = "//label[text()='Account Name']//following-sibling::div//input[@role='combobox']")
-    private WebElement accountNameInput;
-
     @FindBy(xpath = "//input[@name='Email']")
     private WebElement emailInput;
 
-    @FindBy(xpath = "//*[@aria-label='Primary Language']//span[@part='input-button-value']")
-    private WebElement primaryLanguageDropdownBtn;
-
-    @FindBy(xpath = "//*[@aria-label='Lead Source']//span[@part='input-button-value']")
-    private WebElement leadSourceDropdownBtn;
-
     /**
      * Waits until the Contacts tab is visible.
      */
     public void waitForContactsTabVisible() {
-        common.waitForLoadingSpinnerToBeInvisible();
+        common.waitForApplicationIdle();
         seleniumLib.waitForElementToBeVisible(contactsTabDropdownBtn);
-        extentTest.info("Contacts tab is now visible on the page.");
+        getReportLog().info("Contacts tab is now visible on the page.");
     }
 
     /**
@@ -64,9 +55,9 @@ public class ContactsPage extends BaseTest {
      */
     public void clickNewContactFromDropdown() {
         contactsTabDropdownBtn.click();
-        extentTest.info("Clicked on Contacts tab dropdown button");
+        getReportLog().info("Clicked on Contacts tab dropdown button");
         seleniumLib.javascriptClick(newContactMenuItem);
-        extentTest.info("Clicked on New Contact link from dropdown");
+        getReportLog().info("Clicked on New Contact link from dropdown");
     }
 
     /**
@@ -76,7 +67,7 @@ public class ContactsPage extends BaseTest {
      */
     public boolean isContactsDialogHeaderTextCorrect(String expectedHeader) {
         String actualHeader = common.getActionBodyHeaderText();
-        extentTest.info("Expected header: " + expectedHeader + ", Actual header: " + actualHeader);
+        getReportLog().info("Expected header: " + expectedHeader + ", Actual header: " + actualHeader);
         return actualHeader.equals(expectedHeader);
     }
 
@@ -85,15 +76,8 @@ public class ContactsPage extends BaseTest {
      * @param salutationText Salutation to select
      */
     public void selectSalutation(String salutationText) {
-        seleniumLib.scrollToElement(salutationDropdownBtn);
-        seleniumLib.javascriptClick(salutationDropdownBtn);
-        extentTest.info("Clicked on Salutation dropdown");
-
-        By salutationOptionLocator = By.xpath("//div[@part='dropdown overlay']//span[text()='" + salutationText + "']");
-        WebElement salutationOption = webDriver.findElement(salutationOptionLocator);
-
-        seleniumLib.javascriptClick(salutationOption);
-        extentTest.info("Selected salutation: " + salutationText);
+        enterPageFrame();
+        salutationPicklist.select(salutationText);
     }
 
     /**
@@ -103,7 +87,7 @@ public class ContactsPage extends BaseTest {
     public void enterFirstName(String firstName) {
         seleniumLib.waitForElementToBeVisible(firstNameInput);
         firstNameInput.sendKeys(firstName);
-        extentTest.info("Entered First Name: " + firstName);
+        getReportLog().info("Entered First Name: " + firstName);
     }
 
     /**
@@ -113,7 +97,7 @@ public class ContactsPage extends BaseTest {
     public void enterLastName(String lastName) {
         seleniumLib.waitForElementToBeVisible(lastNameInput);
         lastNameInput.sendKeys(lastName);
-        extentTest.info("Entered Last Name: " + lastName);
+        getReportLog().info("Entered Last Name: " + lastName);
     }
 
     /**
@@ -121,16 +105,8 @@ public class ContactsPage extends BaseTest {
      * @param accountName Account name to select
      */
     public void selectAccountName(String accountName) {
-        seleniumLib.scrollToElement(accountNameInput);
-        seleniumLib.waitForElementToBeVisible(accountNameInput);
-        seleniumLib.javascriptClick(accountNameInput);
-        seleniumLib.javascriptType(accountNameInput, accountName);
-        extentTest.info("Entered Account Name: " + accountName);
-
-        By accountNameOptionLocator = By.xpath("//label[text()='Account Name']/..//div[@part='dropdown overlay']//span[text()='" + accountName + "']");
-        WebElement accountNameOption = webDriver.findElement(accountNameOptionLocator);
-        seleniumLib.javascriptClick(accountNameOption);
-        extentTest.info("Selected Account Name from choose list");
+        enterPageFrame();
+        accountNameLookup.select(accountName);
     }
 
     /**
@@ -140,7 +116,7 @@ public class ContactsPage extends BaseTest {
     public void enterEmail(String email) {
         seleniumLib.scrollToElement(emailInput);
         emailInput.sendKeys(email);
-        extentTest.info("Entered Email: " + email);
+        getReportLog().info("Entered Email: " + email);
     }
 
     /**
@@ -148,14 +124,8 @@ public class ContactsPage extends BaseTest {
      * @param language Language to select
      */
     public void selectPrimaryLanguage(String language) {
-        seleniumLib.scrollToElement(primaryLanguageDropdownBtn);
-        seleniumLib.javascriptClick(primaryLanguageDropdownBtn);
-        extentTest.info("Clicked on Primary Language dropdown");
-
-        By languageOptionLocator = By.xpath("//div[@aria-label='Primary Language']//*[text()='" + language + "']");
-        WebElement languageOption = webDriver.findElement(languageOptionLocator);
-        seleniumLib.javascriptClick(languageOption);
-        extentTest.info("Selected Primary Language: " + language);
+        enterPageFrame();
+        primaryLanguagePicklist.select(language);
     }
 
     /**
@@ -163,14 +133,8 @@ public class ContactsPage extends BaseTest {
      * @param leadSource Lead source to select
      */
     public void selectLeadSource(String leadSource) {
-        seleniumLib.scrollToElement(leadSourceDropdownBtn);
-        seleniumLib.javascriptClick(leadSourceDropdownBtn);
-        extentTest.info("Clicked on Lead Source dropdown");
-
-        By leadSourceOptionLocator = By.xpath("//label[text()='Lead Source']/..//div[@part='dropdown overlay']//span[text()='" + leadSource + "']");
-        WebElement leadSourceOption = webDriver.findElement(leadSourceOptionLocator);
-        seleniumLib.javascriptClick(leadSourceOption);
-        extentTest.info("Selected Lead Source: " + leadSource);
+        enterPageFrame();
+        leadSourcePicklist.select(leadSource);
     }
 
     /**
@@ -188,7 +152,7 @@ public class ContactsPage extends BaseTest {
      */
     public boolean isContactNameDisplayed(String entityLabel, String expectedContactName) {
         String actualContactName = common.getPrimaryFieldText(entityLabel);
-        extentTest.info("Expected contact name: " + expectedContactName + ", Actual contact name: " + actualContactName);
+        getReportLog().info("Expected contact name: " + expectedContactName + ", Actual contact name: " + actualContactName);
         return actualContactName.contains(expectedContactName);
     }
 }
\ No newline at end of file
@@ -7,7 +7,6 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 /**
  * Represents the Home Page and provides methods to interact with its elements.
@@ -22,9 +21,9 @@ public class HomePage extends BaseTest {
      */
     public HomePage() {
         super();
-        PageFactory.initElements(webDriver, this);
-        this.seleniumLib = new SeleniumLib();
-        this.commonUtil = new Common(seleniumLib);
+        initElements(this);
+        this.seleniumLib = getSeleniumLib();
+        this.commonUtil = getCommon();
     }
 
     // Web element for the Home tab in the navigation bar
@@ -40,12 +39,12 @@ public class HomePage extends BaseTest {
     private WebElement searchInputElement;
 
     /**
-     * Clicks on the Home tab and waits for the loading spinner to disappear.
+     * Clicks on the Home tab and waits for the application to be idle.
      */
     public void clickHomeTab() {
         seleniumLib.javascriptClick(homeTabElement);
-        extentTest.info("Clicked on Home tab");
-        commonUtil.waitForLoadingSpinnerToBeInvisible();
+        getReportLog().info("Clicked on Home tab");
+        commonUtil.waitForApplicationIdle();
     }
 
     /**
@@ -55,9 +54,9 @@ public class HomePage extends BaseTest {
     public void verifyHomePageIsDisplayed() {
         seleniumLib.waitForElementToBeVisible(homeTabElement);
         if (homeTabElement.isDisplayed()) {
-            extentTest.info("Home page is displayed successfully.");
+            getReportLog().info("Home page is displayed successfully.");
         } else {
-            extentTest.fail("Home page is not displayed.");
+            getReportLog().fail("Home page is not displayed.");
             throw new RuntimeException("Home page is not displayed.");
         }
     }
@@ -67,15 +66,15 @@ public class HomePage extends BaseTest {
      * @param searchText The text to search for.
      */
     public void searchAndOpen(String searchText) {
-        commonUtil.waitForLoadingSpinnerToBeInvisible();
+        commonUtil.waitForApplicationIdle();
         seleniumLib.waitForElementToBeClickable(searchButtonElement);
         searchButtonElement.click();
-        extentTest.info("Clicked on Search button");
+        getReportLog().info("Clicked on Search button");
         seleniumLib.waitForElementToBeVisible(searchInputElement);
         searchInputElement.sendKeys(searchText);
-        extentTest.info("Entered search text: " + searchText);
+        getReportLog().info("Entered search text: " + searchText);
         searchInputElement.sendKeys(Keys.ENTER);
-        extentTest.info("Pressed Enter to initiate search");
-        commonUtil.waitForLoadingSpinnerToBeInvisible();
+        getReportLog().info("Pressed Enter to initiate search");
+        commonUtil.waitForApplicationIdle();
     }
 }
\ No newline at end of file
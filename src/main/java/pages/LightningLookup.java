@@ -0,0 +1,17 @@
+package pages;
+
+/**
+ * Lightning lookup (record search combobox) of a record form field.
+ * Types the search term and clicks the matching result in a single in-browser call;
+ * an exact match is preferred over a result that only contains the term.
+ */
+public class LightningLookup extends LightningPicklist {
+
+    /**
+     * Creates a lookup for the field with the given label.
+     * @param fieldLabel Field label, matched against the field-label attribute, then the aria-label attribute and the label element
+     */
+    public LightningLookup(String fieldLabel) {
+        super(fieldLabel, true);
+    }
+}
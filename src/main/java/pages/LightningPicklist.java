@@ -0,0 +1,187 @@
+package pages;
+
+import base.BaseTest;
+import base.Deadline;
+import base.DomWaitEngine;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightning picklist (lightning-combobox) of a record form field.
+ * The field is located once by its label, inside the open modal or else the record form, and preferring
+ * the field-label attribute over the aria-label and label element. Opening the list, waiting for the
+ * options to render and clicking the option all happen in a single in-browser call. Runs in the frame
+ * the driver is focused on, so the owning page enters its frame first.
+ */
+public class LightningPicklist extends BaseTest {
+
+    // Where record form fields live, most specific first: an open modal hides the record page's fields behind it
+    private static final List<String> CONTAINER_XPATHS =
+            List.of("//div[contains(@class,'modal-container')]", "//records-record-layout-item");
+
+    private static final String TRIGGER_XPATH = ".//*[@part='input-button-value'] | .//button[@role='combobox']";
+    private static final String SEARCH_INPUT_XPATH = ".//input[@role='combobox']";
+    private static final String OPTION_XPATH = ".//*[@part='dropdown overlay']//* | .//*[@role='listbox']//*";
+
+    // Safe to run again on a later chunk: an open list or an already typed search term is left as is
+    private static final String SELECT_SCRIPT =
+            "var args = arguments, done = args[args.length - 1];"
+            + "var fieldXPaths = args[0], value = args[1], typeToSearch = args[2], timeoutMs = args[3];"
+            + "var TRIGGER = args[4], SEARCH_INPUT = args[5], OPTION = args[6];"
+            + "function all(xpath, context) {"
+            + "  var result = document.evaluate(xpath, context, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "  var nodes = [];"
+            + "  for (var i = 0; i < result.snapshotLength; i++) { nodes.push(result.snapshotItem(i)); }"
+            + "  return nodes;"
+            + "}"
+            + "function isShown(el) { return !!el && el.isConnected && el.getClientRects().length > 0; }"
+            + "function firstShown(xpath, fields) {"
+            + "  for (var i = 0; i < fields.length; i++) {"
+            + "    var nodes = all(xpath, fields[i]);"
+            + "    for (var j = 0; j < nodes.length; j++) { if (isShown(nodes[j])) { return nodes[j]; } }"
+            + "  }"
+            + "  return null;"
+            + "}"
+            // The first XPath matching any node wins, so the looser label matches are only a fallback
+            + "function findFields() {"
+            + "  for (var i = 0; i < fieldXPaths.length; i++) {"
+            + "    var nodes = all(fieldXPaths[i], document);"
+            + "    if (nodes.length) { return nodes; }"
+            + "  }"
+            + "  return [];"
+            + "}"
+            + "function label(el) { return (el.getAttribute('title') || el.textContent || '').trim(); }"
+            // Options rendered outside the field are only taken from the listbox its combobox controls
+            + "function ownedOptions(fields) {"
+            + "  var options = [];"
+            + "  fields.forEach(function (field) {"
+            + "    all('.//*[@aria-controls]', field).forEach(function (owner) {"
+            + "      var listbox = document.getElementById(owner.getAttribute('aria-controls'));"
+            + "      if (listbox) { options = options.concat(all('.//*', listbox)); }"
+            + "    });"
+            + "  });"
+            + "  return options;"
+            + "}"
+            + "function findOption(fields) {"
+            + "  var candidates = [];"
+            + "  fields.forEach(function (field) { candidates = candidates.concat(all(OPTION, field)); });"
+            + "  if (!candidates.length) { candidates = ownedOptions(fields); }"
+            + "  var exact = null, partial = null;"
+            + "  for (var i = 0; i < candidates.length; i++) {"
+            + "    var el = candidates[i];"
+            + "    if (el.firstElementChild || !isShown(el)) { continue; }"
+            + "    var text = label(el);"
+            + "    if (text === value) { exact = exact || el; }"
+            + "    else if (typeToSearch && text.indexOf(value) >= 0) { partial = partial || el; }"
+            + "  }"
+            + "  return exact || partial;"
+            + "}"
+            + "function open(fields) {"
+            + "  if (typeToSearch) {"
+            + "    var input = firstShown(SEARCH_INPUT, fields);"
+            + "    if (!input) { return false; }"
+            + "    if (input.value !== value) {"
+            + "      input.scrollIntoView({block: 'center'});"
+            + "      input.focus();"
+            + "      input.click();"
+            // LWC inputs track their value through the native setter and the input event
+            + "      Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set.call(input, value);"
+            + "      input.dispatchEvent(new Event('input', {bubbles: true, composed: true}));"
+            + "    }"
+            + "    return true;"
+            + "  }"
+            + "  var trigger = firstShown(TRIGGER, fields);"
+            + "  if (!trigger) { return false; }"
+            + "  var button = trigger.closest('button') || trigger;"
+            + "  if (button.getAttribute('aria-expanded') !== 'true') {"
+            + "    trigger.scrollIntoView({block: 'center'});"
+            + "    trigger.click();"
+            + "  }"
+            + "  return true;"
+            + "}"
+            + "var deadline = Date.now() + timeoutMs, opened = false;"
+            + "(function poll() {"
+            + "  var fields = findFields();"
+            + "  var option = fields.length ? findOption(fields) : null;"
+            + "  if (option) {"
+            + "    option.scrollIntoView({block: 'nearest'});"
+            + "    option.click();"
+            + "    done({ok: true, text: label(option)});"
+            + "    return;"
+            + "  }"
+            + "  if (!opened && fields.length) { opened = open(fields); }"
+            + "  if (Date.now() >= deadline) { done({ok: false, reason: fields.length ? 'option not shown' : 'field not found'}); return; }"
+            + "  setTimeout(poll, 50);"
+            + "})();";
+
+    private final String fieldLabel;
+    private final List<String> fieldXPaths;
+    private final boolean typeToSearch;
+
+    /**
+     * Creates a picklist for the field with the given label.
+     * @param fieldLabel Field label, matched against the field-label attribute, then the aria-label attribute and the label element
+     */
+    public LightningPicklist(String fieldLabel) {
+        this(fieldLabel, false);
+    }
+
+    protected LightningPicklist(String fieldLabel, boolean typeToSearch) {
+        this.fieldLabel = fieldLabel;
+        this.typeToSearch = typeToSearch;
+        String literal = toXPathLiteral(fieldLabel);
+        this.fieldXPaths = new ArrayList<>();
+        for (String container : CONTAINER_XPATHS) {
+            fieldXPaths.add(container + "//*[@field-label=" + literal + "]");
+            fieldXPaths.add(container + "//*[@aria-label=" + literal + "] | " + container + "//label[text()=" + literal + "]/..");
+        }
+    }
+
+    /**
+     * Selects the option with the given text.
+     * @param value Option text (or title)
+     * @return time taken by the selection in milliseconds
+     * @throws NoSuchElementException if the field or the option is not shown in time
+     */
+    public long select(String value) {
+        long startNanos = System.nanoTime();
+        Duration timeout = Deadline.remaining(Duration.ofSeconds(Integer.parseInt(configProperties.getProperty("maxWait"))));
+        String[] reason = {"script failed"};
+        // Script errors (field re-rendered while the script ran) are retried on the new DOM with backoff
+        Map<String, Object> result = DomWaitEngine.runInChunks(timeout, (chunkMillis, lastChunk) -> {
+            Map<String, Object> response = (Map<String, Object>) ((JavascriptExecutor) getWebDriver()).executeAsyncScript(
+                    SELECT_SCRIPT, fieldXPaths, value, typeToSearch, chunkMillis, TRIGGER_XPATH, SEARCH_INPUT_XPATH, OPTION_XPATH);
+            if (response != null && Boolean.TRUE.equals(response.get("ok"))) {
+                return response;
+            }
+            if (response != null) {
+                reason[0] = String.valueOf(response.get("reason"));
+            }
+            return null;
+        });
+        if (result == null) {
+            throw new NoSuchElementException("Cannot select '" + value + "' in " + fieldLabel + ": " + reason[0]);
+        }
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+        getReportLog().info("Selected " + fieldLabel + ": " + result.get("text") + " (" + elapsedMillis + " ms)");
+        return elapsedMillis;
+    }
+
+    /**
+     * Quotes a string as an XPath literal, using concat() when it contains both quote types.
+     */
+    private static String toXPathLiteral(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+}
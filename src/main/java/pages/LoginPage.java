@@ -1,9 +1,11 @@
 package pages;
 
 import base.BaseTest;
+import base.ExecutionContext;
+import base.SeleniumLib;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+import util.SessionSnapshotCache;
 
 /**
  * Page Object Model for the Login Page.
@@ -23,12 +25,15 @@ public class LoginPage extends BaseTest {
     @FindBy(xpath = "//a[@title='Home']")
     private WebElement homeLink;
 
+    private final SeleniumLib seleniumLib;
+
     /**
      * Constructor initializes web elements using PageFactory.
      */
     public LoginPage() {
         super();
-        PageFactory.initElements(webDriver, this);
+        this.seleniumLib = getSeleniumLib();
+        initElements(this);
     }
 
     /**
@@ -38,7 +43,7 @@ public class LoginPage extends BaseTest {
     public void enterUsername(String username) {
         usernameInput.clear();
         usernameInput.sendKeys(username);
-        extentTest.info("Entered username: " + username);
+        getReportLog().info("Entered username: " + username);
     }
 
     /**
@@ -48,7 +53,7 @@ public class LoginPage extends BaseTest {
     public void enterPassword(String password) {
         passwordInput.clear();
         passwordInput.sendKeys(password);
-        extentTest.info("Entered password: [PROTECTED]");
+        getReportLog().info("Entered password: [PROTECTED]");
     }
 
     /**
@@ -57,11 +62,46 @@ public class LoginPage extends BaseTest {
      * @param password the password to use
      */
     public void performLogin(String username, String password) {
-        webDriver.get(configProperties.getProperty("url"));
+        getWebDriver().get(configProperties.getProperty("url"));
         enterUsername(username);
         enterPassword(password);
         loginBtn.click();
-        extentTest.info("Clicked login button");
+        getReportLog().info("Clicked login button");
+    }
+
+    /**
+     * Logs in by restoring the cached session snapshot when it is still valid, falling back to the
+     * login form otherwise. A fresh snapshot is captured after every form login. Nothing is done if the
+     * session was already restored when the browser was leased.
+     * @param username the username to use
+     * @param password the password to use
+     */
+    public void performLoginWithSessionSnapshot(String username, String password) {
+        ExecutionContext context = ExecutionContext.current();
+        // Leasing the session first, which restores the snapshot if one is valid
+        getWebDriver();
+        if (context.isAuthenticated()) {
+            getReportLog().info("Session restored from snapshot when the browser was leased, login form skipped");
+            return;
+        }
+        if (!SessionSnapshotCache.isEnabled()) {
+            performLogin(username, password);
+            seleniumLib.waitForElementToBeVisible(homeLink);
+            context.setAuthenticated(true);
+            return;
+        }
+        SessionSnapshotCache sessionSnapshotCache = new SessionSnapshotCache(username);
+        if (sessionSnapshotCache.restore(getWebDriver())) {
+            context.setAuthenticated(true);
+            getReportLog().info("Restored authenticated session from snapshot, login form skipped");
+            return;
+        }
+        getReportLog().info("No valid session snapshot found, logging in through the login form");
+        performLogin(username, password);
+        seleniumLib.waitForElementToBeVisible(homeLink);
+        context.setAuthenticated(true);
+        sessionSnapshotCache.capture(getWebDriver());
+        getReportLog().info("Captured session snapshot for reuse by later test blocks and workers");
     }
 
     /**
@@ -69,7 +109,7 @@ public class LoginPage extends BaseTest {
      * @return true if login is successful, false otherwise
      */
     public boolean isLoginSuccessful() {
-        extentTest.info("Verifying successful login by checking home link visibility.");
+        getReportLog().info("Verifying successful login by checking home link visibility.");
         return homeLink.isDisplayed();
     }
 }
\ No newline at end of file
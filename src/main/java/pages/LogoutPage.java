@@ -1,11 +1,17 @@
 package pages;
 
 import base.BaseTest;
+import base.ExecutionContext;
 import base.SeleniumLib;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.ChromiumDriver;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+import util.SessionSnapshotCache;
+
+import java.util.Map;
 
 /**
  * Page Object representing the Logout functionality.
@@ -31,8 +37,8 @@ public class LogoutPage extends BaseTest {
      */
     public LogoutPage() {
         super();
-        this.seleniumLib = new SeleniumLib();
-        PageFactory.initElements(webDriver, this);
+        this.seleniumLib = getSeleniumLib();
+        initElements(this);
     }
 
     /**
@@ -40,7 +46,7 @@ public class LogoutPage extends BaseTest {
      */
     public void openProfileMenu() {
         profileMenuButton.click();
-        extentTest.info("Profile menu button clicked");
+        getReportLog().info("Profile menu button clicked");
     }
 
     /**
@@ -48,24 +54,51 @@ public class LogoutPage extends BaseTest {
      */
     public void clickLogout() {
         logoutButton.click();
-        extentTest.info("Logout button clicked");
+        getReportLog().info("Logout button clicked");
     }
 
     /**
      * Performs the complete logout process.
+     * With session snapshots enabled only the browser's copy of the session is cleared: a UI logout
+     * would end the server session and make the snapshot useless for the next test block.
      */
     public void performLogout() {
-        openProfileMenu();
-        clickLogout();
-        extentTest.info("Logout process initiated");
+        if (SessionSnapshotCache.isEnabled()) {
+            clearLocalSession();
+        } else {
+            openProfileMenu();
+            clickLogout();
+            getReportLog().info("Logout process initiated");
+        }
+        ExecutionContext.current().setAuthenticated(false);
+    }
+
+    /**
+     * Drops the session's cookies and storage from the browser and opens the login page,
+     * leaving the server session (and the snapshot of it) valid.
+     */
+    public void clearLocalSession() {
+        WebDriver driver = getWebDriver();
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        if (driver instanceof ChromiumDriver) {
+            // Covers the cookies of all Salesforce domains, not only the current one
+            ((ChromiumDriver) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+        driver.get(configProperties.getProperty("url"));
+        getReportLog().info("Local session cleared, server session kept for the session snapshot");
     }
 
     /**
-     * Checks if logout was successful by verifying the page title.
+     * Checks if logout was successful by verifying the page title, or the login form after a local logout.
      * @return true if logout confirmation title is present, false otherwise
      */
     public boolean isLogoutSuccessful() {
         seleniumLib.waitForPageToLoad();
-        return webDriver.getTitle().contains(logoutConfirmationTitleElement.getText());
+        if (SessionSnapshotCache.isEnabled()) {
+            return !getWebDriver().findElements(By.id("username")).isEmpty();
+        }
+        return getWebDriver().getTitle().contains(logoutConfirmationTitleElement.getText());
     }
 }
\ No newline at end of file
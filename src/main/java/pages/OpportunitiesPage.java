@@ -7,7 +7,6 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 /**
  * Page Object Model for Opportunities Page.
@@ -17,11 +16,18 @@ public class OpportunitiesPage extends BaseTest {
     private Common common;
     private SeleniumLib seleniumLib;
 
+    private final LightningPicklist stagePicklist = new LightningPicklist("Stage");
+    private final LightningLookup accountNameLookup = new LightningLookup("Account Name");
+    private final LightningPicklist dealTypePicklist = new LightningPicklist("Deal Type");
+    private final LightningPicklist opportunityCurrencyPicklist = new LightningPicklist("Opportunity Currency");
+    private final LightningPicklist renewalPicklist = new LightningPicklist("Renewal?");
+    private final LightningPicklist quotePricingModelPicklist = new LightningPicklist("Quote Pricing Model");
+
     public OpportunitiesPage() {
         super();
-        PageFactory.initElements(webDriver, this);
-        this.seleniumLib = new SeleniumLib();
-        this.common = new Common(seleniumLib);
+        initElements(this);
+        this.seleniumLib = getSeleniumLib();
+        this.common = getCommon();
     }
 
     // WebElements
@@ -37,27 +43,9 @@ public class OpportunitiesPage extends BaseTest {
     @FindBy(xpath = "//input[@name='Name']")
     private WebElement opportunityNameInput;
 
-    @FindBy(xpath = "//*[@aria-label='Stage']//span[@part='input-button-value']")
-    private WebElement stageDropdown;
-
-    @FindBy(xpath = "//label[text()='Account Name']//following-sibling::div//input[@role='combobox']")
-    private WebElement accountNameSearchInput;
-
-    @FindBy(xpath = "//*[@aria-label='Deal Type']//span[@part='input-button-value']")
-    private WebElement dealTypeDropdown;
-
-    @FindBy(xpath = "//*[@aria-label='Opportunity Currency']//span[@part='input-button-value']")
-    private WebElement opportunityCurrencyDropdown;
-
-    @FindBy(xpath = "//*[@aria-label='Renewal?']//span[@part='input-button-value']")
-    private WebElement renewalDropdown;
-
     @FindBy(xpath = "//input[@name='CloseDate']")
     private WebElement closeDateInput;
 
-    @FindBy(xpath = "//*[@aria-label='Quote Pricing Model']//span[@part='input-button-value']")
-    private WebElement quotePricingModelDropdown;
-
     @FindBy(xpath = "//input[@name='Opportunity-search-input']")
     private WebElement opportunitySearchInput;
 
@@ -75,8 +63,8 @@ public class OpportunitiesPage extends BaseTest {
      */
     public void clickOpportunitiesTab() {
         seleniumLib.javascriptClick(opportunitiesTab);
-        extentTest.info("Clicked on Opportunities tab");
-        common.waitForLoadingSpinnerToBeInvisible();
+        getReportLog().info("Clicked on Opportunities tab");
+        common.waitForApplicationIdle();
     }
 
     /**
@@ -86,17 +74,17 @@ public class OpportunitiesPage extends BaseTest {
     public void searchOpportunity(String opportunityName) {
         seleniumLib.javascriptType(opportunitySearchInput, opportunityName);
         opportunitySearchInput.sendKeys(Keys.ENTER);
-        extentTest.info("Searched for Opportunity: " + opportunityName);
-        common.waitForLoadingSpinnerToBeInvisible();
+        getReportLog().info("Searched for Opportunity: " + opportunityName);
+        common.waitForApplicationIdle();
     }
 
     /**
      * Waits until the Opportunities tab is visible.
      */
     public void waitUntilOpportunitiesTabVisible() {
-        common.waitForLoadingSpinnerToBeInvisible();
+        common.waitForApplicationIdle();
         seleniumLib.waitForElementToBeVisible(opportunitiesTabDropdownButton);
-        extentTest.info("Opportunities tab is now visible on the page.");
+        getReportLog().info("Opportunities tab is now visible on the page.");
     }
 
     /**
@@ -104,9 +92,9 @@ public class OpportunitiesPage extends BaseTest {
      */
     public void clickNewOpportunityLinkFromDropdown() {
         opportunitiesTabDropdownButton.click();
-        extentTest.info("Clicked on Opportunities tab dropdown button");
+        getReportLog().info("Clicked on Opportunities tab dropdown button");
         seleniumLib.javascriptClick(newOpportunityLink);
-        extentTest.info("Clicked on New Opportunity link from dropdown");
+        getReportLog().info("Clicked on New Opportunity link from dropdown");
     }
 
     /**
@@ -116,7 +104,7 @@ public class OpportunitiesPage extends BaseTest {
      */
     public boolean verifyOpportunitiesDialogHeaderText(String expectedHeader) {
         String actualHeader = common.getActionBodyHeaderText();
-        extentTest.info("Expected header: " + expectedHeader + ", Actual header: " + actualHeader);
+        getReportLog().info("Expected header: " + expectedHeader + ", Actual header: " + actualHeader);
         return actualHeader.equals(expectedHeader);
     }
 
@@ -126,16 +114,20 @@ public class OpportunitiesPage extends BaseTest {
      */
     public void selectOpportunityRecordType(String recordType) {
         By recordTypeLocator = By.xpath("//div[@class='changeRecordTypeOptionRightColumn']/span[text()='" + recordType + "']/../../div/input[@type='radio']");
-        WebElement recordTypeRadioButton = webDriver.findElement(recordTypeLocator);
-        seleniumLib.javascriptClick(recordTypeRadioButton);
-        extentTest.info("Selected record type: " + recordType);
+        enterPageFrame();
+        withinActionBudget(() -> {
+            WebElement recordTypeRadioButton = seleniumLib.findElement(recordTypeLocator);
+            seleniumLib.javascriptClick(recordTypeRadioButton);
+        });
+        getReportLog().info("Selected record type: " + recordType);
     }
 
     /**
-     * Clicks the Next button.
+     * Clicks the Next button and prefetches the fields of the opportunity form it opens.
      */
     public void clickNextButton() {
         common.clickNextButton();
+        getReportLog().info("Prefetched " + prefetchElements(this) + " opportunity form element(s)");
     }
 
     /**
@@ -145,7 +137,7 @@ public class OpportunitiesPage extends BaseTest {
     public void typeOpportunityName(String opportunityName) {
         seleniumLib.waitForElementToBeVisible(opportunityNameInput);
         opportunityNameInput.sendKeys(opportunityName);
-        extentTest.info("Typed Opportunity Name: " + opportunityName);
+        getReportLog().info("Typed Opportunity Name: " + opportunityName);
     }
 
     /**
@@ -153,12 +145,8 @@ public class OpportunitiesPage extends BaseTest {
      * @param stageText Stage to select.
      */
     public void selectStage(String stageText) {
-        seleniumLib.javascriptClick(stageDropdown);
-        extentTest.info("Clicked on Stage dropdown");
-        By stageOptionLocator = By.xpath("//label[text()='Stage']/..//div[@part='dropdown overlay']//span[text()='" + stageText + "']");
-        WebElement stageOption = webDriver.findElement(stageOptionLocator);
-        seleniumLib.javascriptClick(stageOption);
-        extentTest.info("Selected stage: " + stageText);
+        enterPageFrame();
+        stagePicklist.select(stageText);
     }
 
     /**
@@ -166,13 +154,8 @@ public class OpportunitiesPage extends BaseTest {
      * @param accountName Account name to select.
      */
     public void chooseAccountName(String accountName) {
-        seleniumLib.javascriptClick(accountNameSearchInput);
-        seleniumLib.javascriptType(accountNameSearchInput, accountName);
-        extentTest.info("Entered Account Name: " + accountName);
-        By accountNameOptionLocator = By.xpath("//label[text()='Account Name']/..//div[@part='dropdown overlay']//span[text()='" + accountName + "']");
-        WebElement accountNameOption = webDriver.findElement(accountNameOptionLocator);
-        seleniumLib.javascriptClick(accountNameOption);
-        extentTest.info("Selected Account Name from choose list");
+        enterPageFrame();
+        accountNameLookup.select(accountName);
     }
 
     /**
@@ -180,12 +163,8 @@ public class OpportunitiesPage extends BaseTest {
      * @param dealType Deal type to select.
      */
     public void selectDealType(String dealType) {
-        seleniumLib.javascriptClick(dealTypeDropdown);
-        extentTest.info("Clicked on Deal Type dropdown");
-        By dealTypeOptionLocator = By.xpath("//label[text()='Deal Type']/..//div[@part='dropdown overlay']//span[text()='" + dealType + "']");
-        WebElement dealTypeOption = webDriver.findElement(dealTypeOptionLocator);
-        seleniumLib.javascriptClick(dealTypeOption);
-        extentTest.info("Selected Deal Type: " + dealType);
+        enterPageFrame();
+        dealTypePicklist.select(dealType);
     }
 
     /**
@@ -193,12 +172,8 @@ public class OpportunitiesPage extends BaseTest {
      * @param currency Currency to select.
      */
     public void selectOpportunityCurrency(String currency) {
-        seleniumLib.scrollToElement(opportunityCurrencyDropdown);
-        opportunityCurrencyDropdown.click();
-        By currencyListLocator = By.xpath("//*[@aria-label='Opportunity Currency']//span[@title='" + currency + "']");
-        WebElement currencyElement = webDriver.findElement(currencyListLocator);
-        seleniumLib.javascriptClick(currencyElement);
-        extentTest.info("Selected Opportunity Currency: " + currency);
+        enterPageFrame();
+        opportunityCurrencyPicklist.select(currency);
     }
 
     /**
@@ -206,13 +181,8 @@ public class OpportunitiesPage extends BaseTest {
      * @param renewalOption Renewal option to select.
      */
     public void selectRenewal(String renewalOption) {
-        seleniumLib.scrollToElement(renewalDropdown);
-        seleniumLib.javascriptClick(renewalDropdown);
-        extentTest.info("Clicked on Renewal dropdown");
-        By renewalOptionLocator = By.xpath("//label[text()='Renewal?']/..//div[@part='dropdown overlay']//span[text()='" + renewalOption + "']");
-        WebElement renewalOptionElement = webDriver.findElement(renewalOptionLocator);
-        seleniumLib.javascriptClick(renewalOptionElement);
-        extentTest.info("Selected Renewal option: " + renewalOption);
+        enterPageFrame();
+        renewalPicklist.select(renewalOption);
     }
 
     /**
@@ -223,7 +193,7 @@ public class OpportunitiesPage extends BaseTest {
         seleniumLib.scrollToElement(closeDateInput);
         seleniumLib.waitForElementToBeVisible(closeDateInput);
         closeDateInput.sendKeys(closeDate);
-        extentTest.info("Typed Close Date: " + closeDate);
+        getReportLog().info("Typed Close Date: " + closeDate);
     }
 
     /**
@@ -231,12 +201,8 @@ public class OpportunitiesPage extends BaseTest {
      * @param pricingModel Pricing model to select.
      */
     public void selectQuotePricingModel(String pricingModel) {
-        seleniumLib.javascriptClick(quotePricingModelDropdown);
-        extentTest.info("Clicked on Quote Pricing Model dropdown");
-        By pricingModelOptionLocator = By.xpath("//label[text()='Quote Pricing Model']/..//div[@part='dropdown overlay']//span[text()='" + pricingModel + "']");
-        WebElement pricingModelOption = webDriver.findElement(pricingModelOptionLocator);
-        seleniumLib.javascriptClick(pricingModelOption);
-        extentTest.info("Selected Quote Pricing Model: " + pricingModel);
+        enterPageFrame();
+        quotePricingModelPicklist.select(pricingModel);
     }
 
     /**
@@ -254,20 +220,24 @@ public class OpportunitiesPage extends BaseTest {
      */
     public boolean isOpportunityNameDisplayed(String entityLabel, String expectedName) {
         String actualName = common.getPrimaryFieldText(entityLabel);
-        extentTest.info("Expected Opportunity Name: " + expectedName + ", Actual Opportunity Name: " + actualName);
+        getReportLog().info("Expected Opportunity Name: " + expectedName + ", Actual Opportunity Name: " + actualName);
         return actualName.contains(expectedName);
     }
 
     /**
      * Checks if the searched opportunity name is displayed in the table.
+     * The table is probed once the search results have loaded, so a missing row returns immediately.
      * @param opportunityName Opportunity name to check.
      * @return true if displayed, false otherwise.
      */
     public boolean isSearchedOpportunityNameDisplayed(String opportunityName) {
+        enterPageFrame();
+        common.waitForApplicationIdle();
         By opportunityNameLocator = By.xpath("//th[@data-label='Opportunity Name']//span[contains(text(),'" + opportunityName + "')]");
-        WebElement opportunityNameElement = webDriver.findElement(opportunityNameLocator);
-        boolean isDisplayed = opportunityNameElement.isDisplayed();
-        extentTest.info("Is Opportunity Name '" + opportunityName + "' displayed? " + isDisplayed);
+        boolean isDisplayed = seleniumLib.findOptional(opportunityNameLocator)
+                .map(WebElement::isDisplayed)
+                .orElse(false);
+        getReportLog().info("Is Opportunity Name '" + opportunityName + "' displayed? " + isDisplayed);
         return isDisplayed;
     }
 
@@ -276,13 +246,15 @@ public class OpportunitiesPage extends BaseTest {
      * @param opportunityName Opportunity name to click.
      */
     public void clickOpportunityNameFromSearchedTable(String opportunityName) {
-        boolean isSearched = isSearchedOpportunityNameDisplayed(opportunityName);
-        common.waitForLoadingSpinnerToBeInvisible();
-        if (isSearched) {
-            By opportunityNameLocator = By.xpath("//th[@data-label='Opportunity Name']//span[contains(text(),'" + opportunityName + "')]");
-            WebElement opportunityNameElement = webDriver.findElement(opportunityNameLocator);
-            seleniumLib.javascriptClick(opportunityNameElement);
-        }
+        withinActionBudget(() -> {
+            boolean isSearched = isSearchedOpportunityNameDisplayed(opportunityName);
+            common.waitForApplicationIdle();
+            if (isSearched) {
+                By opportunityNameLocator = By.xpath("//th[@data-label='Opportunity Name']//span[contains(text(),'" + opportunityName + "')]");
+                WebElement opportunityNameElement = seleniumLib.findElement(opportunityNameLocator);
+                seleniumLib.javascriptClick(opportunityNameElement);
+            }
+        });
     }
 
     /**
@@ -290,7 +262,7 @@ public class OpportunitiesPage extends BaseTest {
      */
     public void clickCreateQuoteButton() {
         seleniumLib.javascriptClick(createQuoteButton);
-        extentTest.info("Clicked on Create Quote button");
+        getReportLog().info("Clicked on Create Quote button");
     }
 
     /**
@@ -298,7 +270,7 @@ public class OpportunitiesPage extends BaseTest {
      */
     public void clickQuotesLink() {
         seleniumLib.javascriptClick(quotesLink);
-        extentTest.info("Clicked on Quotes link");
+        getReportLog().info("Clicked on Quotes link");
     }
 
     /**
@@ -306,6 +278,6 @@ public class OpportunitiesPage extends BaseTest {
      */
     public void clickQuoteNumberLink() {
         seleniumLib.javascriptClick(quoteNumberLink);
-        extentTest.info("Clicked on Quote Number link");
+        getReportLog().info("Clicked on Quote Number link");
     }
 }
\ No newline at end of file
@@ -2,21 +2,25 @@ package pages;
 
 import base.BaseTest;
 import base.Common;
+import base.PageFrame;
 import base.SeleniumLib;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import util.ShadowDomHandler;
+import util.ShadowPath;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 
 /**
- * Handles product selection actions on the product selection page.
+ * Handles product selection actions on the product selection page, which lives in the CPQ iframe.
  */
+@PageFrame(xpath = Common.ACCESSIBILITY_TITLE_IFRAME_XPATH)
 public class ProductSelection extends BaseTest {
 
+    private static final ShadowPath SELECT_BUTTON = ShadowDomHandler.PRODUCT_LOOKUP.then("#plSelect");
+
     private Common common;
     private SeleniumLib seleniumLib;
 
@@ -25,9 +29,9 @@ public class ProductSelection extends BaseTest {
      */
     public ProductSelection() {
         super();
-        PageFactory.initElements(webDriver, this);
-        this.seleniumLib = new SeleniumLib();
-        this.common = new Common(seleniumLib);
+        initElements(this);
+        this.seleniumLib = getSeleniumLib();
+        this.common = getCommon();
     }
 
     /**
@@ -37,11 +41,30 @@ public class ProductSelection extends BaseTest {
      * @throws InterruptedException if thread is interrupted during wait
      */
     public void selectProductByName(String productName) throws InterruptedException {
-        WebDriver iframeDriver = common.switchToAccessibilityTitleIframe();
+        WebDriver iframeDriver = enterPageFrame();
         ShadowDomHandler shadowDomHandler = new ShadowDomHandler(iframeDriver, 30);
         shadowDomHandler.selectProductByName(iframeDriver, productName);
-        extentTest.info("Selected product by name " + productName);
-        iframeDriver.switchTo().defaultContent();
+        getReportLog().info("Selected product by name " + productName);
+    }
+
+    /**
+     * Selects many products in one iframe session, scrolling through the virtualized product list.
+     *
+     * @param productNames the names of the products to select
+     * @return the names of the products that were not found in the list
+     */
+    public List<String> selectProducts(Collection<String> productNames) {
+        long startNanos = System.nanoTime();
+        WebDriver iframeDriver = enterPageFrame();
+        ShadowDomHandler shadowDomHandler = new ShadowDomHandler(iframeDriver, 60);
+        List<String> missingProducts = shadowDomHandler.selectProductsByName(iframeDriver, productNames);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+        getReportLog().info("Selected " + (productNames.size() - missingProducts.size()) + " of "
+                + productNames.size() + " product(s) in " + elapsedMillis + " ms");
+        if (!missingProducts.isEmpty()) {
+            getReportLog().warning("Products not found: " + missingProducts);
+        }
+        return missingProducts;
     }
 
     /**
@@ -50,11 +73,10 @@ public class ProductSelection extends BaseTest {
      * @throws InterruptedException if thread is interrupted during wait
      */
     public void clickSelectButton() throws InterruptedException {
-        WebDriver iframeDriver = common.switchToAccessibilityTitleIframe();
+        WebDriver iframeDriver = enterPageFrame();
         findSelectButton(iframeDriver).click();
-        extentTest.info("Clicked on Select button to save the selected product(s)");
-        webDriver = iframeDriver.switchTo().defaultContent();
-        common.waitForLoadingSpinnerToBeInvisible();
+        getReportLog().info("Clicked on Select button to save the selected product(s)");
+        common.waitForApplicationIdle();
     }
 
     /**
@@ -64,10 +86,6 @@ public class ProductSelection extends BaseTest {
      * @return the select button WebElement, or null if not found
      */
     public WebElement findSelectButton(WebDriver driver) {
-        return (WebElement) ((JavascriptExecutor) driver).executeScript(
-            "return document.querySelector('#sbPageContainer')" +
-            ".shadowRoot.querySelector('#content > sb-product-lookup')" +
-            ".shadowRoot.querySelector('#plSelect')"
-        );
+        return SELECT_BUTTON.find(driver);
     }
 }
\ No newline at end of file
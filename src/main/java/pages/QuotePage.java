@@ -5,26 +5,44 @@ import base.Common;
 import base.SeleniumLib;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import util.ShadowDomHandler;
+import util.ShadowPath;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Page Object Model for the Quote Page.
  * Encapsulates all interactions and verifications for the Quote page.
+ * The record form lives in default content; line editor actions switch into the CPQ iframe.
  */
 public class QuotePage extends BaseTest {
 
+    // Line editor controls, resolved through the Shadow DOM in one call each
+    private static final ShadowPath SAVE_BUTTON = ShadowDomHandler.LINE_EDITOR
+            .then("#lineEditorPageHeader > #actions sb-custom-action[name=\"Save\"]", "#mainButton");
+    private static final ShadowPath ADD_PRODUCTS_BUTTON = ShadowDomHandler.LINE_EDITOR
+            .then("#actions > sb-custom-action[name=\"Add Products\"]", "#mainButton");
+    private static final ShadowPath CLOSE_BUTTON_IN_ALERT = ShadowDomHandler.LINE_EDITOR
+            .then("#productAlertModal", "#dialog", "paper-button");
+    private static final ShadowPath ERROR_INFO_CLOSE_BUTTON = ShadowDomHandler.LINE_EDITOR
+            .then("#messages > sb-toast", "#error_0 > button > i");
+
     private Common common;
     private SeleniumLib seleniumLib;
 
+    private final LightningLookup soldToContactLookup = new LightningLookup("Sold To Contact");
+    private final LightningLookup billToContactLookup = new LightningLookup("Bill To Contact");
+    private final LightningPicklist paymentOptionsPicklist = new LightningPicklist("Payment Options");
+    private final LightningPicklist paymentTermsPicklist = new LightningPicklist("Payment Terms");
+    private final LightningPicklist billingPeriodPicklist = new LightningPicklist("Billing Period");
+
     public QuotePage() {
         super();
-        PageFactory.initElements(webDriver, this);
-        this.seleniumLib = new SeleniumLib();
-        this.common = new Common(seleniumLib);
+        initElements(this);
+        this.seleniumLib = getSeleniumLib();
+        this.common = getCommon();
     }
 
     // WebElements
@@ -34,24 +52,9 @@ public class QuotePage extends BaseTest {
     @FindBy(xpath = "//input[@name='SBQQ__StartDate__c']")
     private WebElement startDateInput;
 
-    @FindBy(xpath = "//label[text()='Sold To Contact']//following-sibling::div//input[@role='combobox']")
-    private WebElement soldToContactInput;
-
-    @FindBy(xpath = "//label[text()='Bill To Contact']//following-sibling::div//input[@role='combobox']")
-    private WebElement billToContactInput;
-
     @FindBy(xpath = "//input[@name='SBQQ__SubscriptionTerm__c']")
     private WebElement subscriptionTermInput;
 
-    @FindBy(xpath = "//*[@aria-label='Payment Options']//span[@part='input-button-value']")
-    private WebElement paymentOptionsDropdown;
-
-    @FindBy(xpath = "//*[@aria-label='Payment Terms']//span[@part='input-button-value']")
-    private WebElement paymentTermsDropdown;
-
-    @FindBy(xpath = "//*[@aria-label='Billing Period']//span[@part='input-button-value']")
-    private WebElement billingPeriodDropdown;
-
     @FindBy(xpath = "//ul[@class='slds-button-group-list']//*[@title='Edit Lines']//button")
     private WebElement editLinesButton;
 
@@ -59,9 +62,9 @@ public class QuotePage extends BaseTest {
      * Clicks the Proceed button on the Quote page.
      */
     public void clickProceedButton() {
-        common.waitForLoadingSpinnerToBeInvisible();
+        common.waitForApplicationIdle();
         seleniumLib.javascriptClick(proceedButton);
-        extentTest.info("Clicked on Proceed button");
+        getReportLog().info("Clicked on Proceed button");
     }
 
     /**
@@ -71,7 +74,7 @@ public class QuotePage extends BaseTest {
      */
     public boolean isQuoteDialogHeaderTextCorrect(String expectedHeader) {
         String actualHeader = common.getActionBodyHeaderText();
-        extentTest.info("Expected header: " + expectedHeader + ", Actual header: " + actualHeader);
+        getReportLog().info("Expected header: " + expectedHeader + ", Actual header: " + actualHeader);
         return actualHeader.equals(expectedHeader);
     }
 
@@ -82,7 +85,7 @@ public class QuotePage extends BaseTest {
     public void enterStartDate(String startDate) {
         seleniumLib.scrollToElement(startDateInput);
         startDateInput.sendKeys(startDate);
-        extentTest.info("Typed Start Date: " + startDate);
+        getReportLog().info("Typed Start Date: " + startDate);
     }
 
     /**
@@ -90,13 +93,8 @@ public class QuotePage extends BaseTest {
      * @param contactName The contact name to select.
      */
     public void selectSoldToContact(String contactName) {
-        seleniumLib.javascriptClick(soldToContactInput);
-        seleniumLib.javascriptType(soldToContactInput, contactName);
-
-        By contactOptionLocator = By.xpath("//label[text()='Sold To Contact']/..//div[@part='dropdown overlay']//span[contains(text(),'" + contactName + "')]");
-        WebElement contactOption = webDriver.findElement(contactOptionLocator);
-        seleniumLib.javascriptClick(contactOption);
-        extentTest.info("Selected Sold To Contact: " + contactName);
+        enterPageFrame();
+        soldToContactLookup.select(contactName);
     }
 
     /**
@@ -104,13 +102,8 @@ public class QuotePage extends BaseTest {
      * @param contactName The contact name to select.
      */
     public void selectBillToContact(String contactName) {
-        seleniumLib.javascriptClick(billToContactInput);
-        seleniumLib.javascriptType(billToContactInput, contactName);
-
-        By contactOptionLocator = By.xpath("//label[text()='Bill To Contact']/..//div[@part='dropdown overlay']//span[contains(text(),'" + contactName + "')]");
-        WebElement contactOption = webDriver.findElement(contactOptionLocator);
-        seleniumLib.javascriptClick(contactOption);
-        extentTest.info("Selected Bill To Contact: " + contactName);
+        enterPageFrame();
+        billToContactLookup.select(contactName);
     }
 
     /**
@@ -120,7 +113,7 @@ public class QuotePage extends BaseTest {
     public void enterSubscriptionTerm(String term) {
         seleniumLib.scrollToElement(subscriptionTermInput);
         subscriptionTermInput.sendKeys(term);
-        extentTest.info("Typed Subscription Term: " + term);
+        getReportLog().info("Typed Subscription Term: " + term);
     }
 
     /**
@@ -128,11 +121,8 @@ public class QuotePage extends BaseTest {
      * @param option The payment option to select.
      */
     public void selectPaymentOption(String option) {
-        seleniumLib.javascriptClick(paymentOptionsDropdown);
-        By optionLocator = By.xpath("//label[text()='Payment Options']/..//div[@part='dropdown overlay']//span[text()='" + option + "']");
-        WebElement paymentOption = webDriver.findElement(optionLocator);
-        seleniumLib.javascriptClick(paymentOption);
-        extentTest.info("Selected Payment Option: " + option);
+        enterPageFrame();
+        paymentOptionsPicklist.select(option);
     }
 
     /**
@@ -140,11 +130,8 @@ public class QuotePage extends BaseTest {
      * @param terms The payment terms to select.
      */
     public void selectPaymentTerms(String terms) {
-        seleniumLib.javascriptClick(paymentTermsDropdown);
-        By termsLocator = By.xpath("//label[text()='Payment Terms']/..//div[@part='dropdown overlay']//span[text()='" + terms + "']");
-        WebElement paymentTermsOption = webDriver.findElement(termsLocator);
-        seleniumLib.javascriptClick(paymentTermsOption);
-        extentTest.info("Selected Payment Terms: " + terms);
+        enterPageFrame();
+        paymentTermsPicklist.select(terms);
     }
 
     /**
@@ -152,11 +139,8 @@ public class QuotePage extends BaseTest {
      * @param period The billing period to select.
      */
     public void selectBillingPeriod(String period) {
-        seleniumLib.javascriptClick(billingPeriodDropdown);
-        By periodLocator = By.xpath("//label[text()='Billing Period']/..//div[@part='dropdown overlay']//span[text()='" + period + "']");
-        WebElement billingPeriodOption = webDriver.findElement(periodLocator);
-        seleniumLib.javascriptClick(billingPeriodOption);
-        extentTest.info("Selected Billing Period: " + period);
+        enterPageFrame();
+        billingPeriodPicklist.select(period);
     }
 
     /**
@@ -171,7 +155,7 @@ public class QuotePage extends BaseTest {
      */
     public void clickEditLinesButton() {
         seleniumLib.javascriptClick(editLinesButton);
-        extentTest.info("Clicked on Edit Lines button");
+        getReportLog().info("Clicked on Edit Lines button");
     }
 
     /**
@@ -182,8 +166,8 @@ public class QuotePage extends BaseTest {
      */
     public boolean isQuoteNameDisplayed(String entityLabel, String opportunityName) {
         String primaryFieldText = common.getPrimaryFieldText(entityLabel);
-        extentTest.info("Quote primary field text: " + primaryFieldText);
-        extentTest.info("Checking if Quote Name contains Opportunity Name: " + opportunityName);
+        getReportLog().info("Quote primary field text: " + primaryFieldText);
+        getReportLog().info("Checking if Quote Name contains Opportunity Name: " + opportunityName);
         return primaryFieldText.contains(opportunityName);
     }
 
@@ -193,11 +177,9 @@ public class QuotePage extends BaseTest {
      * Clicks the Add Products button inside the iframe.
      */
     public void clickAddProductsButton() {
-        common.waitForLoadingSpinnerToBeInvisible();
         common.switchToAccessibilityTitleIframe();
         getAddProductsButton().click();
-        extentTest.info("Clicked on Add Products button");
-        webDriver.switchTo().defaultContent();
+        getReportLog().info("Clicked on Add Products button");
     }
 
     /**
@@ -210,52 +192,104 @@ public class QuotePage extends BaseTest {
         WebDriver iframeDriver = common.switchToAccessibilityTitleIframe();
         ShadowDomHandler shadowDomHandler = new ShadowDomHandler(iframeDriver, 60);
         shadowDomHandler.editProductQuantity(iframeDriver, productName, quantity, isHoverRequired);
-        extentTest.info("Edited product quantity for " + productName + " to " + quantity);
-        iframeDriver.switchTo().defaultContent();
+        getReportLog().info("Edited product quantity for " + productName + " to " + quantity);
     }
 
     /**
-     * Clicks the Save button inside the iframe.
+     * Waits until every given product has a line and reads the net totals of all lines.
+     * @param productNames Products whose lines must be rendered first.
+     * @return Net total of every line, in line order.
      */
-    public void clickSaveButtonInIframe() throws InterruptedException {
+    public List<ShadowDomHandler.LineTotal> readLineTotals(List<String> productNames) {
+        WebDriver iframeDriver = common.switchToAccessibilityTitleIframe();
+        ShadowDomHandler shadowDomHandler = new ShadowDomHandler(iframeDriver, 60);
+        for (String productName : productNames) {
+            shadowDomHandler.waitForLineRow(ShadowDomHandler.LineMatch.PRODUCT_NAME, productName);
+        }
+        return shadowDomHandler.readLineTotals(iframeDriver);
+    }
+
+    /**
+     * Applies quantity, discount and term edits to many lines in one line editor session
+     * and waits for a single recalculation.
+     * @param lineEdits Product name to the edits of its line, applied in iteration order.
+     * @return Net total of every line after the recalculation, in line order.
+     */
+    public List<ShadowDomHandler.LineTotal> editLines(Map<String, LineEdit> lineEdits) {
         WebDriver iframeDriver = common.switchToAccessibilityTitleIframe();
-        WebDriverWait wait = new WebDriverWait(iframeDriver, Duration.ofSeconds(60));
-        wait.until(d -> getSaveButton() != null);
-        getSaveButton().click();
-        if(getErrorInfoCloseButton() != null) {
-            seleniumLib.javascriptClick(getErrorInfoCloseButton());
-            getSaveButton().click();
+        ShadowDomHandler shadowDomHandler = new ShadowDomHandler(iframeDriver, 60);
+        for (Map.Entry<String, LineEdit> lineEdit : lineEdits.entrySet()) {
+            int lineNumber = shadowDomHandler.waitForLineRow(
+                    ShadowDomHandler.LineMatch.PRODUCT_NAME, lineEdit.getKey()).getLineNumber();
+            LineEdit edit = lineEdit.getValue();
+            if (edit.getQuantity() != null) {
+                editLineField(shadowDomHandler, iframeDriver, lineNumber, ShadowDomHandler.QUANTITY_FIELD, edit.getQuantity());
+            }
+            if (edit.getDiscount() != null) {
+                editLineField(shadowDomHandler, iframeDriver, lineNumber, ShadowDomHandler.DISCOUNT_FIELD, edit.getDiscount());
+            }
+            if (edit.getTerm() != null) {
+                editLineField(shadowDomHandler, iframeDriver, lineNumber, ShadowDomHandler.TERM_FIELD, edit.getTerm());
+            }
+            getReportLog().info("Edited line " + lineNumber + " (" + lineEdit.getKey() + "): " + edit);
         }
-        extentTest.info("Clicked on Save button to save the added/edited product(s)");
-        webDriver.switchTo().defaultContent();
+        shadowDomHandler.waitForLineEditorIdle(iframeDriver);
+        List<ShadowDomHandler.LineTotal> lineTotals = shadowDomHandler.readLineTotals(iframeDriver);
+        getReportLog().info("Line totals after recalculation: " + lineTotals);
+        return lineTotals;
+    }
+
+    /**
+     * Clicks the Save button inside the iframe.
+     */
+    public void clickSaveButtonInIframe() throws InterruptedException {
+        withinActionBudget(() -> {
+            WebDriver iframeDriver = common.switchToAccessibilityTitleIframe();
+            SAVE_BUTTON.waitFor(iframeDriver, Duration.ofSeconds(60)).click();
+            WebElement errorInfoCloseButton = getErrorInfoCloseButton();
+            if (errorInfoCloseButton != null) {
+                seleniumLib.javascriptClick(errorInfoCloseButton);
+                getSaveButton().click();
+            }
+        });
+        getReportLog().info("Clicked on Save button to save the added/edited product(s)");
     }
 
     /**
      * Clicks the Close button in the alert dialog inside the iframe.
      */
     public void clickCloseButtonInAlert() throws InterruptedException {
-        WebDriver iframeDriver = common.switchToAccessibilityTitleIframe();
+        common.switchToAccessibilityTitleIframe();
         seleniumLib.waitForPageToLoad();
         seleniumLib.javascriptClick(getCloseButtonInAlert());
-        extentTest.info("Clicked on Close button in the alert dialog");
-        common.waitForLoadingSpinnerToBeInvisible();
-        iframeDriver.switchTo().defaultContent();
+        getReportLog().info("Clicked on Close button in the alert dialog");
+        common.waitForApplicationIdle();
     }
 
     //***************** Private Helper Methods **********************//
 
+    /**
+     * Edits one field of a line, looking the row up again first: committing the previous field
+     * re-renders the row, so its earlier handles may be stale.
+     * @param shadowDomHandler Handler of the line editor.
+     * @param iframeDriver Driver focused on the line editor iframe.
+     * @param lineNumber 1-based line number.
+     * @param field Field API name.
+     * @param value New value.
+     */
+    private void editLineField(ShadowDomHandler shadowDomHandler, WebDriver iframeDriver, int lineNumber,
+                               String field, String value) {
+        ShadowDomHandler.LineRow line = shadowDomHandler.waitForLineRow(
+                ShadowDomHandler.LineMatch.LINE_NUMBER, String.valueOf(lineNumber));
+        shadowDomHandler.editLineField(iframeDriver, line, field, value, true);
+    }
+
     /**
      * Gets the Close button in the alert dialog using JavaScript.
      * @return The Close button WebElement.
      */
     private WebElement getCloseButtonInAlert() {
-        String script =
-                "return document.querySelector('#sbPageContainer')"
-                        + ".shadowRoot.querySelector('sb-line-editor')"
-                        + ".shadowRoot.querySelector('#productAlertModal')"
-                        + ".shadowRoot.querySelector('#dialog')"
-                        + ".shadowRoot.querySelector('paper-button');";
-        return (WebElement) ((JavascriptExecutor) webDriver).executeScript(script);
+        return CLOSE_BUTTON_IN_ALERT.find(getWebDriver());
     }
 
     /**
@@ -263,11 +297,7 @@ public class QuotePage extends BaseTest {
      * @return The Save button WebElement.
      */
     private WebElement getSaveButton() {
-        String script = "return document.querySelector('#sbPageContainer')"
-                + ".shadowRoot.querySelector('sb-line-editor')"
-                + ".shadowRoot.querySelector('#lineEditorPageHeader > #actions sb-custom-action[name=\"Save\"]')"
-                + ".shadowRoot.querySelector('#mainButton');";
-        return (WebElement) ((JavascriptExecutor) webDriver).executeScript(script);
+        return SAVE_BUTTON.find(getWebDriver());
     }
 
     /**
@@ -275,20 +305,61 @@ public class QuotePage extends BaseTest {
      * @return The Add Products button WebElement.
      */
     private WebElement getAddProductsButton() {
-        String script =
-                "return document.querySelector('#sbPageContainer')" +
-                        ".shadowRoot.querySelector('#content > sb-line-editor')" +
-                        ".shadowRoot.querySelector('#actions > sb-custom-action[name=\"Add Products\"]')" +
-                        ".shadowRoot.querySelector('#mainButton')";
-        return (WebElement) ((JavascriptExecutor) webDriver).executeScript(script);
+        return ADD_PRODUCTS_BUTTON.find(getWebDriver());
     }
 
+    /**
+     * Gets the close button of the error toast inside the iframe, without waiting.
+     * @return The close button WebElement, or null if no error is shown.
+     */
     private WebElement getErrorInfoCloseButton() {
-        String script = "return document.querySelector('#sbPageContainer')"
-                + ".shadowRoot.querySelector('#content > sb-line-editor')"
-                + ".shadowRoot.querySelector('#messages > sb-toast')"
-                + ".shadowRoot.querySelector('#error_0 > button > i');";
-        return (WebElement) ((JavascriptExecutor) webDriver).executeScript(script);
+        return ERROR_INFO_CLOSE_BUTTON.find(getWebDriver());
     }
 
-}
\ No newline at end of file
+    /**
+     * Edits to apply to one quote line. Fields left null are not touched.
+     */
+    public static final class LineEdit {
+
+        private final String quantity;
+        private final String discount;
+        private final String term;
+
+        /**
+         * @param quantity Quantity, or null to keep it.
+         * @param discount Additional discount, or null to keep it.
+         * @param term Subscription term, or null to keep it.
+         */
+        public LineEdit(String quantity, String discount, String term) {
+            this.quantity = quantity;
+            this.discount = discount;
+            this.term = term;
+        }
+
+        /**
+         * Creates an edit of the quantity only.
+         * @param quantity Quantity to set.
+         * @return the line edit.
+         */
+        public static LineEdit quantity(String quantity) {
+            return new LineEdit(quantity, null, null);
+        }
+
+        public String getQuantity() {
+            return quantity;
+        }
+
+        public String getDiscount() {
+            return discount;
+        }
+
+        public String getTerm() {
+            return term;
+        }
+
+        @Override
+        public String toString() {
+            return "quantity=" + quantity + ", discount=" + discount + ", term=" + term;
+        }
+    }
+}
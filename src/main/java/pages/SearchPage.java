@@ -1,11 +1,13 @@
 package pages;
 
 import base.BaseTest;
+import base.BatchQuery;
 import base.Common;
 import base.SeleniumLib;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
+
+import java.time.Duration;
 
 /**
  * Page Object representing the Search Page and its actions.
@@ -20,9 +22,9 @@ public class SearchPage extends BaseTest {
      */
     public SearchPage() {
         super();
-        PageFactory.initElements(webDriver, this);
-        this.seleniumLib = new SeleniumLib();
-        this.common = new Common(seleniumLib);
+        initElements(this);
+        this.seleniumLib = getSeleniumLib();
+        this.common = getCommon();
     }
 
     /**
@@ -32,7 +34,8 @@ public class SearchPage extends BaseTest {
      * @param rowNumber     The row number of the result to click (1-based index). Defaults to 1 if null or empty.
      */
     public void clickLinkFromSearchResults(String tableHeader, String rowNumber) {
-        common.waitForLoadingSpinnerToBeInvisible();
+        enterPageFrame();
+        common.waitForApplicationIdle();
         String targetRow = (rowNumber == null || rowNumber.isEmpty()) ? "1" : rowNumber;
 
         By linkLocator = By.xpath("(//h2/a[text()='" + tableHeader + "']/ancestor::div[contains(@class,'resultsItem')]//th[@scope='row']//a)[" + targetRow + "]");
@@ -41,10 +44,10 @@ public class SearchPage extends BaseTest {
         if (linkElement != null) {
             seleniumLib.scrollToElement(linkElement);
             linkElement.click();
-            extentTest.info("Clicked on link: " + tableHeader + " from search results row " + targetRow);
-            common.waitForLoadingSpinnerToBeInvisible();
+            getReportLog().info("Clicked on link: " + tableHeader + " from search results row " + targetRow);
+            common.waitForApplicationIdle();
         } else {
-            extentTest.fail("Link not found for: " + tableHeader + " in search results row " + targetRow);
+            getReportLog().fail("Link not found for: " + tableHeader + " in search results row " + targetRow);
             throw new RuntimeException("Link not found for: " + tableHeader + " in search results row " + targetRow);
         }
     }
@@ -56,15 +59,19 @@ public class SearchPage extends BaseTest {
      * @return true if the page is displayed, false otherwise.
      */
     public boolean isPageDisplayed(String pageName) {
-        common.waitForLoadingSpinnerToBeInvisible();
+        enterPageFrame();
+        common.waitForApplicationIdle();
         By pageHeaderLocator = By.xpath("//*[@slot='entityLabel' and text()='" + pageName + "']");
-        WebElement pageHeader = seleniumLib.waitForElementToBeVisible(pageHeaderLocator);
+        BatchQuery.Result result = new BatchQuery()
+                .visible("pageHeader", pageHeaderLocator)
+                .executeWhenVisible(getWebDriver(), "pageHeader",
+                        Duration.ofSeconds(Integer.parseInt(configProperties.getProperty("maxWait"))));
 
-        if (pageHeader != null && pageHeader.isDisplayed()) {
-            extentTest.info(pageName + " page is displayed successfully.");
+        if (result.isVisible("pageHeader")) {
+            getReportLog().info(pageName + " page is displayed successfully.");
             return true;
         } else {
-            extentTest.fail(pageName + " page is not displayed.");
+            getReportLog().fail(pageName + " page is not displayed.");
             return false;
         }
     }
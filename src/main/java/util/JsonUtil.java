@@ -5,6 +5,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
 
 /**
@@ -47,6 +51,27 @@ public class JsonUtil {
         }
     }
 
+    /**
+     * Writes any Jackson-serializable object to a JSON file, replacing the file atomically
+     * so concurrent readers never observe a partially written file.
+     *
+     * @param filePath the path to the output JSON file
+     * @param data the object to write
+     * @throws RuntimeException if writing fails
+     */
+    public static void writeObjectToJsonFileAtomically(String filePath, Object data) {
+        Path target = Paths.get(filePath);
+        try {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            Path tempFile = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+            OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(tempFile.toFile(), data);
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Failed to write JSON file: " + filePath, e);
+        }
+    }
+
     /**
      * Reads a single value from a JSON file by key.
      *
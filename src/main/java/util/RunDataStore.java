@@ -0,0 +1,168 @@
+package util;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory store of the run data (generated names, emails, record IDs, ...) produced by test chains.
+ * Values are kept per scope, one scope per parallel worker and run, so chains running side by side
+ * (or values left by an earlier run) never mix. A worker reading a value it did not write falls back to
+ * one other scope, which it resolves once with {@link #getLatestScope(String)} and keeps for the rest of
+ * its chain. The file is read once when the store is loaded and rewritten in the background, atomically,
+ * after every change.
+ *
+ * <p>File format: {@code {"<scope>": {"<key>": "<value>", ...}, ...}}, the most recently written scope last.
+ * A legacy flat {@code {"<key>": "<value>"}} file is read into the {@link #DEFAULT_SCOPE}.
+ */
+public class RunDataStore {
+
+    /** Scope the values of a legacy flat file are read into. */
+    public static final String DEFAULT_SCOPE = "default";
+
+    private final String filePath;
+    private final Map<String, Map<String, String>> scopes = new ConcurrentHashMap<>();
+    // Write order of the scopes (file order for loaded ones), the latest scope has the highest number
+    private final Map<String, Long> writeSequence = new ConcurrentHashMap<>();
+    private final AtomicLong writeCounter = new AtomicLong();
+
+    private final AtomicBoolean writePending = new AtomicBoolean();
+    private final ExecutorService writeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "run-data-store");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private RunDataStore(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Loads the store from the given file. A missing file yields an empty store.
+     * @param filePath Path of the run data JSON file
+     * @return the store
+     */
+    public static RunDataStore load(String filePath) {
+        RunDataStore store = new RunDataStore(filePath);
+        if (!new File(filePath).exists()) {
+            return store;
+        }
+        Map<String, Object> content = JsonUtil.readJsonFileToMap(filePath);
+        for (Map.Entry<String, Object> entry : content.entrySet()) {
+            if (entry.getValue() instanceof Map) {
+                Map<String, String> values = new ConcurrentHashMap<>();
+                ((Map<?, ?>) entry.getValue()).forEach((key, value) -> {
+                    if (value != null) {
+                        values.put(key.toString(), value.toString());
+                    }
+                });
+                store.scopes.put(entry.getKey(), values);
+                store.markWritten(entry.getKey());
+            } else if (entry.getValue() != null) {
+                // Legacy flat file
+                store.scope(DEFAULT_SCOPE).put(entry.getKey(), entry.getValue().toString());
+                store.markWritten(DEFAULT_SCOPE);
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Reads a value of the given scope.
+     * @param scope Worker scope
+     * @param key   Run data key (e.g. accountName)
+     * @return the value, or null if not present
+     */
+    public String get(String scope, String key) {
+        return scope == null ? null : scopes.getOrDefault(scope, Collections.emptyMap()).get(key);
+    }
+
+    /**
+     * Returns the scope written last other than the given one, the fallback of a worker consuming
+     * the records of another chain (e.g. the account created by another test).
+     * @param excludedScope Scope of the worker asking
+     * @return the scope, or null if no other scope holds values
+     */
+    public String getLatestScope(String excludedScope) {
+        return writeSequence.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(excludedScope))
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+
+    /**
+     * Stores a value in the given scope and schedules a write of the file.
+     * @param scope Worker scope
+     * @param key   Run data key
+     * @param value Value
+     */
+    public void put(String scope, String key, String value) {
+        putAll(scope, Collections.singletonMap(key, value));
+    }
+
+    /**
+     * Stores values in the given scope and schedules a single write of the file.
+     * @param scope  Worker scope
+     * @param values Run data key to value
+     */
+    public void putAll(String scope, Map<String, String> values) {
+        scope(scope).putAll(values);
+        markWritten(scope);
+        scheduleWrite();
+    }
+
+    /**
+     * Waits until all scheduled writes reached the file.
+     * @param timeoutSeconds Maximum wait time
+     */
+    public void flush(long timeoutSeconds) {
+        try {
+            writeExecutor.submit(() -> { }).get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            throw new RuntimeException("Failed to flush run data to " + filePath, e);
+        }
+    }
+
+    private Map<String, String> scope(String scope) {
+        return scopes.computeIfAbsent(scope, name -> new ConcurrentHashMap<>());
+    }
+
+    private void markWritten(String scope) {
+        writeSequence.put(scope, writeCounter.incrementAndGet());
+    }
+
+    /**
+     * Writes are coalesced: changes made while a write is queued go out with that write.
+     */
+    private void scheduleWrite() {
+        if (writePending.compareAndSet(false, true)) {
+            writeExecutor.execute(this::write);
+        }
+    }
+
+    private void write() {
+        writePending.set(false);
+        // In write order, so the file lists the most recently written scope last
+        Map<String, Map<String, String>> snapshot = new LinkedHashMap<>();
+        writeSequence.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(entry -> snapshot.put(entry.getKey(), new LinkedHashMap<>(scope(entry.getKey()))));
+        try {
+            JsonUtil.writeObjectToJsonFileAtomically(filePath, snapshot);
+        } catch (RuntimeException e) {
+            System.out.println("Failed to write run data to " + filePath + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package util;
+
+import base.BaseTest;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches an authenticated browser session (cookies, localStorage and sessionStorage) on disk,
+ * so new or pooled drivers can be restored into a logged-in state without driving the login form.
+ */
+public class SessionSnapshotCache extends BaseTest {
+
+    // Cheap static resource served on every Salesforce domain, used to get onto the origin before restoring storage
+    private static final String ORIGIN_PROBE_PATH = "/robots.txt";
+
+    // Cookie attributes accepted by the CDP Network.setCookies command
+    private static final List<String> CDP_COOKIE_FIELDS =
+            List.of("name", "value", "domain", "path", "secure", "httpOnly", "sameSite", "expires");
+
+    private final String snapshotFilePath;
+
+    /**
+     * Creates a snapshot cache for the given user.
+     *
+     * @param username the Salesforce username the session belongs to
+     */
+    public SessionSnapshotCache(String username) {
+        this.snapshotFilePath = System.getProperty("user.dir")
+                + configProperties.getProperty("sessionSnapshotPath")
+                + username.replaceAll("[^A-Za-z0-9._-]", "_") + ".json";
+    }
+
+    /**
+     * Checks whether session snapshots are enabled in config.
+     *
+     * @return true if enabled, false otherwise
+     */
+    public static boolean isEnabled() {
+        return "true".equalsIgnoreCase(configProperties.getProperty("sessionSnapshotEnabled"));
+    }
+
+    /**
+     * Captures the session of a logged-in driver and writes it to the snapshot file.
+     *
+     * @param driver WebDriver currently showing an authenticated Salesforce page
+     */
+    public void capture(WebDriver driver) {
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(
+                "return {local: Object.assign({}, window.localStorage), session: Object.assign({}, window.sessionStorage)};");
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("capturedAt", System.currentTimeMillis());
+        snapshot.put("landingUrl", driver.getCurrentUrl());
+        snapshot.put("cookies", readCookies(driver));
+        snapshot.put("localStorage", storage.get("local"));
+        snapshot.put("sessionStorage", storage.get("session"));
+        JsonUtil.writeObjectToJsonFileAtomically(snapshotFilePath, snapshot);
+    }
+
+    /**
+     * Restores the cached session into the given driver and validates it with one lightweight request.
+     * An expired or rejected snapshot is deleted.
+     *
+     * @param driver WebDriver to restore the session into
+     * @return true if the driver is now logged in and on the landing page, false if a UI login is required
+     */
+    public boolean restore(WebDriver driver) {
+        File snapshotFile = new File(snapshotFilePath);
+        if (!snapshotFile.exists()) {
+            return false;
+        }
+        Map<String, Object> snapshot = JsonUtil.readJsonFileToMap(snapshotFilePath);
+        long maxAgeMillis = Long.parseLong(configProperties.getProperty("sessionSnapshotMaxAgeMinutes")) * 60_000L;
+        if (System.currentTimeMillis() - ((Number) snapshot.get("capturedAt")).longValue() > maxAgeMillis) {
+            invalidate();
+            return false;
+        }
+
+        String landingUrl = snapshot.get("landingUrl").toString();
+        URI landingUri = URI.create(landingUrl);
+        String origin = landingUri.getScheme() + "://" + landingUri.getAuthority();
+        List<Map<String, Object>> cookies = (List<Map<String, Object>>) snapshot.get("cookies");
+
+        if (driver instanceof ChromiumDriver) {
+            writeCookies((ChromiumDriver) driver, cookies);
+            driver.get(origin + ORIGIN_PROBE_PATH);
+        } else {
+            driver.get(origin + ORIGIN_PROBE_PATH);
+            writeCookies(driver, landingUri.getHost(), cookies);
+        }
+
+        JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
+        jsExecutor.executeScript(
+                "var local = arguments[0] || {}, session = arguments[1] || {};"
+                        + "Object.keys(local).forEach(function (k) { window.localStorage.setItem(k, local[k]); });"
+                        + "Object.keys(session).forEach(function (k) { window.sessionStorage.setItem(k, session[k]); });",
+                snapshot.get("localStorage"), snapshot.get("sessionStorage"));
+
+        // An expired session is answered with a redirect to the login page
+        Boolean isSessionValid = (Boolean) jsExecutor.executeAsyncScript(
+                "var done = arguments[arguments.length - 1];"
+                        + "fetch(arguments[0], {credentials: 'include', redirect: 'manual'})"
+                        + ".then(function (r) { done(r.type !== 'opaqueredirect' && r.ok); })"
+                        + ".catch(function () { done(false); });",
+                landingUrl);
+        if (!Boolean.TRUE.equals(isSessionValid)) {
+            invalidate();
+            return false;
+        }
+        driver.get(landingUrl);
+        return true;
+    }
+
+    /**
+     * Deletes the snapshot file, e.g. after the session was logged out.
+     */
+    public void invalidate() {
+        new File(snapshotFilePath).delete();
+    }
+
+    /**
+     * Reads the cookies of all domains (Chromium) or of the current domain (other browsers).
+     */
+    private List<Map<String, Object>> readCookies(WebDriver driver) {
+        if (driver instanceof ChromiumDriver) {
+            Map<String, Object> result = ((ChromiumDriver) driver).executeCdpCommand("Network.getAllCookies", Map.of());
+            return (List<Map<String, Object>>) result.get("cookies");
+        }
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            Map<String, Object> cookieMap = new HashMap<>();
+            cookieMap.put("name", cookie.getName());
+            cookieMap.put("value", cookie.getValue());
+            cookieMap.put("domain", cookie.getDomain());
+            cookieMap.put("path", cookie.getPath());
+            cookieMap.put("secure", cookie.isSecure());
+            cookieMap.put("httpOnly", cookie.isHttpOnly());
+            cookieMap.put("sameSite", cookie.getSameSite());
+            cookieMap.put("expires", cookie.getExpiry() == null ? -1 : cookie.getExpiry().getTime() / 1000);
+            cookies.add(cookieMap);
+        }
+        return cookies;
+    }
+
+    /**
+     * Restores cookies of all domains in one CDP call, without navigating first.
+     */
+    private void writeCookies(ChromiumDriver driver, List<Map<String, Object>> cookies) {
+        List<Map<String, Object>> cookieParams = new ArrayList<>();
+        for (Map<String, Object> cookie : cookies) {
+            Map<String, Object> cookieParam = new HashMap<>();
+            for (String field : CDP_COOKIE_FIELDS) {
+                if (cookie.get(field) != null) {
+                    cookieParam.put(field, cookie.get(field));
+                }
+            }
+            // Session cookies carry expires = -1 and must be restored without an expiry
+            if (cookieParam.get("expires") instanceof Number && ((Number) cookieParam.get("expires")).doubleValue() <= 0) {
+                cookieParam.remove("expires");
+            }
+            cookieParams.add(cookieParam);
+        }
+        driver.executeCdpCommand("Network.setCookies", Map.of("cookies", cookieParams));
+    }
+
+    /**
+     * Restores the cookies belonging to the currently loaded host through the WebDriver API.
+     */
+    private void writeCookies(WebDriver driver, String host, List<Map<String, Object>> cookies) {
+        for (Map<String, Object> cookie : cookies) {
+            String domain = String.valueOf(cookie.get("domain"));
+            if (!host.endsWith(domain.startsWith(".") ? domain.substring(1) : domain)) {
+                continue;
+            }
+            double expires = cookie.get("expires") == null ? -1 : ((Number) cookie.get("expires")).doubleValue();
+            driver.manage().addCookie(new Cookie.Builder(cookie.get("name").toString(), cookie.get("value").toString())
+                    .domain(domain)
+                    .path(String.valueOf(cookie.get("path")))
+                    .isSecure(Boolean.TRUE.equals(cookie.get("secure")))
+                    .isHttpOnly(Boolean.TRUE.equals(cookie.get("httpOnly")))
+                    .expiresOn(expires > 0 ? new Date((long) (expires * 1000)) : null)
+                    .build());
+        }
+    }
+}
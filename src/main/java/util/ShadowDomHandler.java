@@ -1,13 +1,19 @@
 package util;
 
 import base.BaseTest;
+import base.DomWaitEngine;
+import base.LightningQuiescence;
 import base.SeleniumLib;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -15,9 +21,137 @@ import java.util.List;
  */
 public class ShadowDomHandler extends BaseTest {
 
+    /** CPQ line editor host, shared prefix of the line editor paths. */
+    public static final ShadowPath LINE_EDITOR = ShadowPath.of("#sbPageContainer", "sb-line-editor");
+
+    /** CPQ product lookup host, shared prefix of the product selection paths. */
+    public static final ShadowPath PRODUCT_LOOKUP = ShadowPath.of("#sbPageContainer", "sb-product-lookup");
+
+    private static final ShadowPath STANDARD_LINES = LINE_EDITOR.then("#groupLayout", "#Group_", "#standardLines");
+
+    /** Line editor field API names. */
+    public static final String QUANTITY_FIELD = "yext_Display_Quantity__c";
+    public static final String DISCOUNT_FIELD = "SBQQ__AdditionalDiscount__c";
+    public static final String TERM_FIELD = "SBQQ__SubscriptionTerm__c";
+    public static final String NET_TOTAL_FIELD = "SBQQ__NetTotal__c";
+
+    // Mask the line editor shows over the table while the calculator runs
+    private static final ShadowPath SPINNER_MASK = ShadowPath.of("#sbPageContainer", "#spinner", "#mask");
+
+    private static final String CELL_PENCIL_SCRIPT =
+            "var row = arguments[0];"
+            + "if (row.hasAttribute('disabled') || row.getAttribute('aria-disabled') === 'true') { return null; }"
+            + "var pencil = row.shadowRoot.querySelector(\"div[field='\" + arguments[1] + \"'] span.pencil\");"
+            + "return pencil && pencil.isConnected ? pencil : null;";
+
+    // Committed once the cell left edit mode and, when it shows a number, shows the new value
+    private static final String CELL_COMMITTED_SCRIPT =
+            "var row = arguments[0], cell = row.shadowRoot.querySelector(\"div[field='\" + arguments[1] + \"']\");"
+            + "if (!cell) { return false; }"
+            + "var sbInput = cell.querySelector('sb-input');"
+            + "var input = sbInput && sbInput.shadowRoot ? sbInput.shadowRoot.querySelector('input') : null;"
+            + "if (input && input.getClientRects().length > 0) { return false; }"
+            + "var shown = parseFloat((cell.innerText || cell.textContent || '').replace(/[^0-9.\\-]/g, ''));"
+            + "return isNaN(shown) || shown === parseFloat(arguments[2]);";
+
+    private static final String CELL_INPUT_SCRIPT =
+            "var row = arguments[0], sbInput = row.shadowRoot.querySelector(\"div[field='\" + arguments[1] + \"'] sb-input\");"
+            + "if (!sbInput || !sbInput.shadowRoot) { return null; }"
+            + "return sbInput.shadowRoot.querySelector('iron-input > input') || sbInput.shadowRoot.querySelector('input');";
+
+    // Pages through the virtualized product list and checks every wanted row rendered on the way
+    private static final String SELECT_PRODUCTS_SCRIPT =
+            "var args = arguments, done = args[args.length - 1];"
+            + "var layout = args[0], remaining = new Set(args[1]), resume = args[2], deadline = Date.now() + args[3];"
+            + "var SETTLE_MILLIS = 1500, selected = [];"
+            + "var list = layout.shadowRoot.querySelector('#tbody > #list');"
+            + "if (!list) { done({finished: false, selected: [], remaining: Array.from(remaining)}); return; }"
+            + "function scrollerOf(el) {"
+            + "  for (var node = el; node; node = node.parentElement || (node.getRootNode() && node.getRootNode().host)) {"
+            + "    var style = window.getComputedStyle(node);"
+            + "    if (node.scrollHeight > node.clientHeight && /(auto|scroll)/.test(style.overflowY)) { return node; }"
+            + "  }"
+            + "  return document.scrollingElement;"
+            + "}"
+            + "function checkboxOf(row) {"
+            + "  var selection = row.shadowRoot && row.shadowRoot.querySelector('sb-swipe-container #selection');"
+            + "  var cell = selection && selection.shadowRoot && selection.shadowRoot.querySelector('sb-table-cell-select');"
+            + "  var checkbox = cell && cell.shadowRoot && cell.shadowRoot.querySelector('#checkbox');"
+            + "  return checkbox && checkbox.shadowRoot ? {checkbox: checkbox, container: checkbox.shadowRoot.querySelector('#checkboxContainer')} : null;"
+            + "}"
+            + "function selectRendered() {"
+            + "  var rows = list.querySelectorAll(':scope > [name]');"
+            + "  for (var i = 0; i < rows.length; i++) {"
+            + "    var name = rows[i].getAttribute('name');"
+            + "    if (!remaining.has(name)) { continue; }"
+            + "    var target = checkboxOf(rows[i]);"
+            + "    if (!target || !target.container) { continue; }"
+            + "    var checked = target.checkbox.hasAttribute('checked') || target.checkbox.getAttribute('aria-checked') === 'true';"
+            + "    if (!checked) { target.container.click(); }"
+            + "    remaining.delete(name);"
+            + "    selected.push(name);"
+            + "  }"
+            + "}"
+            + "var scroller = scrollerOf(list);"
+            + "if (!resume) { scroller.scrollTop = 0; }"
+            + "var lastChange = Date.now(), lastTop = -1, lastHeight = -1;"
+            + "(function step() {"
+            + "  selectRendered();"
+            + "  if (!remaining.size || Date.now() >= deadline) {"
+            + "    done({finished: !remaining.size, selected: selected, remaining: Array.from(remaining)}); return;"
+            + "  }"
+            + "  scroller.scrollTop = scroller.scrollTop + Math.max(1, Math.floor(scroller.clientHeight * 0.9));"
+            + "  if (scroller.scrollTop !== lastTop || scroller.scrollHeight !== lastHeight) {"
+            + "    lastTop = scroller.scrollTop; lastHeight = scroller.scrollHeight; lastChange = Date.now();"
+            // Bottom reached and no more rows loaded: whatever is left is not in the list
+            + "  } else if (Date.now() - lastChange > SETTLE_MILLIS) {"
+            + "    done({finished: true, selected: selected, remaining: Array.from(remaining)}); return;"
+            + "  }"
+            + "  setTimeout(step, 100);"
+            + "})();";
+
+    private static final String LINE_TOTALS_SCRIPT =
+            "var totals = [], rows = arguments[0].shadowRoot.querySelectorAll('sf-le-table-row');"
+            + "function text(row, field) {"
+            + "  var cell = row.shadowRoot ? row.shadowRoot.querySelector(\"div[field='\" + field + \"']\") : null;"
+            + "  return cell ? (cell.innerText || cell.textContent || '').trim() : '';"
+            + "}"
+            + "for (var i = 0; i < rows.length; i++) {"
+            + "  totals.push({lineNumber: i + 1, productName: text(rows[i], 'SBQQ__ProductName__c'), total: text(rows[i], arguments[1])});"
+            + "}"
+            + "return totals;";
+
+    // Scans the rows in the browser and returns the handles of the first match
+    private static final String FIND_LINE_SCRIPT =
+            "var rows = arguments[0].shadowRoot.querySelectorAll('sf-le-table-row');"
+            + "var match = arguments[1], wanted = String(arguments[2]).trim().toLowerCase(), quantityField = arguments[3];"
+            + "function cell(row, field) { return row.shadowRoot ? row.shadowRoot.querySelector(\"div[field='\" + field + \"']\") : null; }"
+            + "function text(el) { return el ? (el.innerText || el.textContent || '').trim() : ''; }"
+            + "for (var i = 0; i < rows.length; i++) {"
+            + "  var row = rows[i], nameCell = cell(row, 'SBQQ__ProductName__c');"
+            + "  var found = match === 'LINE_NUMBER' ? String(i + 1) === wanted"
+            + "      : text(match === 'PRODUCT_CODE' ? cell(row, 'SBQQ__ProductCode__c') : nameCell).toLowerCase() === wanted;"
+            + "  if (!found) { continue; }"
+            + "  var sbInput = row.shadowRoot.querySelector(\"div[field='\" + quantityField + \"'] sb-input\");"
+            + "  var input = sbInput && sbInput.shadowRoot"
+            + "      ? sbInput.shadowRoot.querySelector('iron-input > input') || sbInput.shadowRoot.querySelector('input') : null;"
+            + "  return {row: row, lineNumber: i + 1, productName: text(nameCell), productNameCell: nameCell,"
+            + "      pencilIcon: row.shadowRoot.querySelector(\"div[field='\" + quantityField + \"'] span.pencil\"), quantityInput: input};"
+            + "}"
+            + "return null;";
+
+    /**
+     * What a line editor row is matched by.
+     */
+    public enum LineMatch {
+        PRODUCT_NAME, PRODUCT_CODE, LINE_NUMBER
+    }
+
     private WebDriver driver;
     private WebDriverWait wait;
     private SeleniumLib seleniumLib;
+    private LightningQuiescence lightningQuiescence;
+    private int timeoutInSeconds;
 
     /**
      * Constructor to initialize ShadowDomHandler.
@@ -27,8 +161,11 @@ public class ShadowDomHandler extends BaseTest {
      */
     public ShadowDomHandler(WebDriver driver, int timeoutInSeconds) {
         this.driver = driver;
-        this.seleniumLib = new SeleniumLib();
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
+        this.seleniumLib = getSeleniumLib();
+        this.timeoutInSeconds = timeoutInSeconds;
+        this.wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds), Duration.ofMillis(100));
+        this.lightningQuiescence = new LightningQuiescence(
+                Long.parseLong(configProperties.getProperty("quietPeriodMillis")));
     }
 
     /**
@@ -38,101 +175,165 @@ public class ShadowDomHandler extends BaseTest {
      * @param productName Name of the product to select
      */
     public void selectProductByName(WebDriver iDriver, String productName) {
-        JavascriptExecutor jsExecutor = (JavascriptExecutor) iDriver;
-
-        String script = "return document.querySelector('#sbPageContainer')"
-                + ".shadowRoot.querySelector('sb-product-lookup')"
-                + ".shadowRoot.querySelector('#lookupLayout')"
-                + ".shadowRoot.querySelector('#tbody > #list > [name=\"" + productName + "\"]')"
-                + ".shadowRoot.querySelector('sb-swipe-container #selection')"
-                + ".shadowRoot.querySelector('sb-table-cell-select')"
-                + ".shadowRoot.querySelector('#checkbox')"
-                + ".shadowRoot.querySelector('#checkboxContainer')";
+        ShadowPath checkboxPath = PRODUCT_LOOKUP.then("#lookupLayout",
+                "#tbody > #list > [name=\"" + productName + "\"]",
+                "sb-swipe-container #selection", "sb-table-cell-select", "#checkbox", "#checkboxContainer");
 
         // Click the checkbox for the specified product
-        WebElement checkbox = (WebElement) jsExecutor.executeScript(script);
+        WebElement checkbox = checkboxPath.find(iDriver);
         if (checkbox != null) {
             seleniumLib.scrollToElement(checkbox);
             seleniumLib.javascriptClick(checkbox);
-            extentTest.info("Product selected: " + productName);
+            getReportLog().info("Product selected: " + productName);
         } else {
-            extentTest.fail("Product not found: " + productName);
+            getReportLog().fail("Product not found: " + productName);
             throw new NoSuchElementException("Product not found: " + productName);
         }
     }
 
 
     /**
-     * Edits the quantity of a product in a Shadow DOM-based table.
+     * Selects many products in the virtualized product lookup list. The list is paged through
+     * in the browser and every wanted row rendered on the way is checked, so the number of
+     * round trips does not depend on the number of products.
+     *
+     * @param driver       Selenium WebDriver instance
+     * @param productNames Names of the products to select
+     * @return Names of the products that are not in the list
+     */
+    public List<String> selectProductsByName(WebDriver driver, Collection<String> productNames) {
+        WebElement lookupLayout = PRODUCT_LOOKUP.then("#lookupLayout").waitFor(driver, Duration.ofSeconds(timeoutInSeconds));
+        List<String> remaining = new ArrayList<>(new LinkedHashSet<>(productNames));
+        boolean[] resume = {false};
+        List<String> notFound = DomWaitEngine.runInChunks(Duration.ofSeconds(timeoutInSeconds), (chunkMillis, lastChunk) -> {
+            Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(
+                    SELECT_PRODUCTS_SCRIPT, lookupLayout, remaining, resume[0], chunkMillis);
+            remaining.clear();
+            remaining.addAll((List<String>) result.get("remaining"));
+            for (Object productName : (List<?>) result.get("selected")) {
+                getReportLog().info("Product selected: " + productName);
+            }
+            resume[0] = true;
+            return Boolean.TRUE.equals(result.get("finished")) || lastChunk ? new ArrayList<>(remaining) : null;
+        });
+        return notFound != null ? notFound : remaining;
+    }
+
+    /**
+     * Edits the quantity of a product in a Shadow DOM-based table and waits for the line editor
+     * to commit the value and finish recalculating.
      *
      * @param driver        Selenium WebDriver instance
      * @param productName   Name of the product to edit
      * @param newQuantity   New quantity value to set
      * @param hoverRequired Whether hover is required before editing
-     * @throws InterruptedException if thread sleep is interrupted
      */
-    public void editProductQuantity(WebDriver driver, String productName, String newQuantity, boolean hoverRequired) throws InterruptedException {
-        JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-
-        // Traverse Shadow DOM to reach the standard lines table
-        WebElement pageContainer = driver.findElement(By.cssSelector("#sbPageContainer"));
-        WebElement lineEditor = getShadowElement(driver, pageContainer, "sb-line-editor");
-        WebElement groupLayout = getShadowElement(driver, lineEditor, "#groupLayout");
-        WebElement group = getShadowElement(driver, groupLayout, "#Group_");
-        WebElement standardLines = getShadowElement(driver, group, "#standardLines");
-
-        // Get all product rows
-        List<WebElement> productRows = (List<WebElement>) jsExecutor.executeScript(
-                "return arguments[0].shadowRoot.querySelectorAll('sf-le-table-row')", standardLines);
-
-        for (WebElement row : productRows) {
-            WebElement productNameCell = getShadowElement(driver, row, "div[field='SBQQ__ProductName__c']");
-            String foundProductName = productNameCell.getText().trim();
-
-            if (foundProductName.equalsIgnoreCase(productName)) {
-                if (hoverRequired) {
-                    hoverAndFocusElement(driver, productNameCell);
-                }
-                // Click the pencil icon to edit quantity
-                WebElement pencilIcon = getShadowElement(driver, row, "div[field='yext_Display_Quantity__c'] span.pencil");
-                jsExecutor.executeScript("arguments[0].click();", pencilIcon);
-
-                // Wait for the quantity input to appear inside sb-input
-                WebElement quantityInput = new WebDriverWait(driver, Duration.ofSeconds(30))
-                        .until(d -> {
-                            WebElement sbInput = getShadowElement(d, row, "div[field='yext_Display_Quantity__c'] sb-input");
-                            if (sbInput != null) {
-                                WebElement input = null;
-                                try {
-                                    input = getShadowElement(d, sbInput, "iron-input > input");
-                                } catch (Exception ignore) {
-                                }
-                                if (input == null) {
-                                    try {
-                                        input = getShadowElement(d, sbInput, "input");
-                                    } catch (Exception ignore) {
-                                    }
-                                }
-                                return input;
-                            }
-                            return null;
-                        });
-
-                // Update the quantity value
-                quantityInput.clear();
-                quantityInput.sendKeys(newQuantity);
-                Thread.sleep(1000);
-                quantityInput.sendKeys(Keys.ENTER);
-
-                // Press Enter
-                Thread.sleep(1000);
-                productNameCell.click();
-                System.out.println("Updated quantity for product: " + foundProductName);
-                break;
-            }
+    public void editProductQuantity(WebDriver driver, String productName, String newQuantity, boolean hoverRequired) {
+        LineRow line = waitForLineRow(LineMatch.PRODUCT_NAME, productName);
+        editLineField(driver, line, QUANTITY_FIELD, newQuantity, hoverRequired);
+        waitForLineEditorIdle(driver);
+        System.out.println("Updated quantity for product: " + line.getProductName());
+    }
+
+    /**
+     * Edits one field of a line and waits until the cell has committed the value.
+     * Does not wait for the recalculation, so several edits can share one calculation cycle.
+     *
+     * @param driver        Selenium WebDriver instance
+     * @param line          Line to edit
+     * @param field         Field API name, e.g. {@link #QUANTITY_FIELD}
+     * @param value         New value
+     * @param hoverRequired Whether hover is required before editing
+     */
+    public void editLineField(WebDriver driver, LineRow line, String field, String value, boolean hoverRequired) {
+        if (hoverRequired) {
+            hoverAndFocusElement(driver, line.getProductNameCell());
+        }
+        // Click the pencil icon to edit the cell once the row accepts edits
+        WebElement pencilIcon = wait.until(d -> (WebElement) ((JavascriptExecutor) d)
+                .executeScript(CELL_PENCIL_SCRIPT, line.getRow(), field));
+        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", pencilIcon);
+
+        // Wait for the input to appear inside sb-input
+        WebElement input = wait.until(d -> (WebElement) ((JavascriptExecutor) d)
+                .executeScript(CELL_INPUT_SCRIPT, line.getRow(), field));
+
+        // Update the value, then commit it with Enter and by leaving the cell
+        input.clear();
+        input.sendKeys(value);
+        wait.until(d -> value.equals(input.getDomProperty("value")));
+        input.sendKeys(Keys.ENTER);
+        line.getProductNameCell().click();
+
+        wait.until(d -> Boolean.TRUE.equals(((JavascriptExecutor) d)
+                .executeScript(CELL_COMMITTED_SCRIPT, line.getRow(), field, value)));
+    }
+
+    /**
+     * Reads the net total of every line in one script call.
+     *
+     * @param driver Selenium WebDriver instance
+     * @return Net total of every line as displayed, in line order; lines of the same product stay apart
+     */
+    public List<LineTotal> readLineTotals(WebDriver driver) {
+        WebElement standardLines = STANDARD_LINES.waitFor(driver, Duration.ofSeconds(timeoutInSeconds));
+        List<Map<String, Object>> totals = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(LINE_TOTALS_SCRIPT, standardLines, NET_TOTAL_FIELD);
+        List<LineTotal> lineTotals = new ArrayList<>();
+        for (Map<String, Object> total : totals) {
+            lineTotals.add(new LineTotal(total));
+        }
+        return lineTotals;
+    }
+
+    /**
+     * Waits until the line editor has finished recalculating: no calculator request in flight
+     * and no spinner mask shown inside #sbPageContainer.
+     *
+     * @param driver Selenium WebDriver instance focused on the line editor iframe
+     */
+    public void waitForLineEditorIdle(WebDriver driver) {
+        wait.until(d -> {
+            WebElement mask = SPINNER_MASK.find(d);
+            return mask == null || !mask.isDisplayed();
+        });
+        lightningQuiescence.waitForIdle(driver, Duration.ofSeconds(timeoutInSeconds));
+    }
+
+    /**
+     * Finds a line in the standard lines table of the line editor in one script call,
+     * whatever the number of lines.
+     *
+     * @param driver Selenium WebDriver instance
+     * @param match  What to match the line by
+     * @param value  Product name or code (case-insensitive), or 1-based line number
+     * @return Handles of the line, or null if no line matches
+     */
+    public LineRow findLineRow(WebDriver driver, LineMatch match, String value) {
+        WebElement standardLines = STANDARD_LINES.find(driver);
+        if (standardLines == null) {
+            return null;
+        }
+        Map<String, Object> handles = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(
+                FIND_LINE_SCRIPT, standardLines, match.name(), value, QUANTITY_FIELD);
+        return handles != null ? new LineRow(handles) : null;
+    }
+
+    /**
+     * Waits for a line to be rendered in the standard lines table.
+     *
+     * @param match What to match the line by
+     * @param value Product name or code (case-insensitive), or 1-based line number
+     * @return Handles of the line
+     * @throws NoSuchElementException if no line matches in time
+     */
+    public LineRow waitForLineRow(LineMatch match, String value) {
+        try {
+            return wait.until(d -> findLineRow(d, match, value));
+        } catch (TimeoutException e) {
+            getReportLog().fail("Line not found by " + match + ": " + value);
+            throw new NoSuchElementException("Line not found by " + match + ": " + value, e);
         }
-        Thread.sleep(2000);
-        System.out.println("Finished editing product quantity for: " + productName);
     }
 
     /**
@@ -149,42 +350,98 @@ public class ShadowDomHandler extends BaseTest {
     }
 
     /**
-     * Performs hover and focus actions on a given element, with optional tabbing.
+     * Hovers over and focuses a given element, so the row renders its inline edit controls.
      *
      * @param driver  Selenium WebDriver instance
      * @param element WebElement to hover and focus
-     * @throws InterruptedException if thread sleep is interrupted
      */
-    private void hoverAndFocusElement(WebDriver driver, WebElement element) throws InterruptedException {
-
-        JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-        Actions actions = new Actions(driver);
-
-        // Hover over the element
-        actions.moveToElement(element).perform();
-        Thread.sleep(1000);
-
-        // Focus the element
-        jsExecutor.executeScript("arguments[0].focus();", element);
-
-        // Optionally, tab through elements for up to 6 seconds
-        long endTime = System.currentTimeMillis() + 6_000;
-        while (System.currentTimeMillis() < endTime) {
-            jsExecutor.executeScript("arguments[0].focus();", element);
-            for (int i = 0; i < 10; i++) {
-                actions.sendKeys(Keys.TAB).perform();
-                Thread.sleep(200);
-
-                WebElement activeElement = driver.switchTo().activeElement();
-                try {
-                    actions.moveToElement(activeElement).perform();
-                    Thread.sleep(200);
-                } catch (Exception e) {
-                    System.out.println("Could not hover on current element: " + e.getMessage());
-                }
-                Thread.sleep(300);
-            }
+    private void hoverAndFocusElement(WebDriver driver, WebElement element) {
+        new Actions(driver).moveToElement(element).perform();
+        ((JavascriptExecutor) driver).executeScript("arguments[0].focus();", element);
+    }
+
+    /**
+     * Handles of one line editor row, returned by a single lookup.
+     */
+    public static final class LineRow {
+
+        private final WebElement row;
+        private final int lineNumber;
+        private final String productName;
+        private final WebElement productNameCell;
+        private final WebElement pencilIcon;
+        private final WebElement quantityInput;
+
+        private LineRow(Map<String, Object> handles) {
+            this.row = (WebElement) handles.get("row");
+            this.lineNumber = ((Number) handles.get("lineNumber")).intValue();
+            this.productName = (String) handles.get("productName");
+            this.productNameCell = (WebElement) handles.get("productNameCell");
+            this.pencilIcon = (WebElement) handles.get("pencilIcon");
+            this.quantityInput = (WebElement) handles.get("quantityInput");
+        }
+
+        public WebElement getRow() {
+            return row;
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getProductName() {
+            return productName;
+        }
+
+        public WebElement getProductNameCell() {
+            return productNameCell;
+        }
+
+        public WebElement getPencilIcon() {
+            return pencilIcon;
+        }
+
+        /**
+         * @return the quantity input, or null if the row is not in edit mode
+         */
+        public WebElement getQuantityInput() {
+            return quantityInput;
+        }
+    }
+
+    /**
+     * Net total of one line editor row.
+     */
+    public static final class LineTotal {
+
+        private final int lineNumber;
+        private final String productName;
+        private final String total;
+
+        private LineTotal(Map<String, Object> values) {
+            this.lineNumber = ((Number) values.get("lineNumber")).intValue();
+            this.productName = (String) values.get("productName");
+            this.total = (String) values.get("total");
+        }
+
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getProductName() {
+            return productName;
+        }
+
+        /**
+         * @return the net total as displayed
+         */
+        public String getTotal() {
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            return lineNumber + ". " + productName + ": " + total;
         }
-        System.out.println("Finished hover, focus, and tabbing.");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,99 @@
+package util;
+
+import base.Deadline;
+import base.DomWaitEngine;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Chain of CSS selectors through nested shadow roots, e.g. #sbPageContainer → sb-line-editor → #mainButton.
+ * The first selector is queried in the document, every next one in the shadow root of the previous match.
+ * The whole chain resolves in one script call; every resolved prefix is cached in the page, so paths
+ * sharing a prefix reuse its hosts and a stale (disconnected) host only re-resolves the broken suffix.
+ */
+public final class ShadowPath {
+
+    private static final DomWaitEngine DOM_WAIT_ENGINE = new DomWaitEngine();
+
+    private static final String RESOLVE_SCRIPT =
+            "var selectors = arguments[0];"
+            + "var cache = window.__shadowPathCache || (window.__shadowPathCache = new Map());"
+            + "function key(length) { return selectors.slice(0, length).join(' >>> '); }"
+            + "var node = null, start = 0;"
+            + "for (var i = selectors.length; i > 0; i--) {"
+            + "  var reference = cache.get(key(i));"
+            + "  if (!reference) { continue; }"
+            + "  var cached = reference.deref();"
+            + "  if (cached && cached.isConnected) { node = cached; start = i; break; }"
+            + "  cache.delete(key(i));"
+            + "}"
+            + "for (var j = start; j < selectors.length; j++) {"
+            + "  var scope = j === 0 ? document : node.shadowRoot;"
+            + "  node = scope ? scope.querySelector(selectors[j]) : null;"
+            + "  if (!node) { return null; }"
+            // Without WeakRef the fallback must capture this step's node, not the loop variable
+            + "  cache.set(key(j + 1), window.WeakRef ? new WeakRef(node) : (function (n) { return {deref: function () { return n; }}; })(node));"
+            + "}"
+            + "return node;";
+
+    private final List<String> selectors;
+
+    private ShadowPath(List<String> selectors) {
+        this.selectors = Collections.unmodifiableList(selectors);
+    }
+
+    /**
+     * Creates a path starting at the document.
+     * @param selectors CSS selectors, one per shadow root
+     * @return the path
+     */
+    public static ShadowPath of(String... selectors) {
+        if (selectors.length == 0) {
+            throw new IllegalArgumentException("A shadow path needs at least one selector");
+        }
+        return new ShadowPath(Arrays.asList(selectors.clone()));
+    }
+
+    /**
+     * Extends this path into the shadow root of its last element.
+     * @param selectors CSS selectors, one per shadow root
+     * @return the extended path
+     */
+    public ShadowPath then(String... selectors) {
+        List<String> extended = new ArrayList<>(this.selectors);
+        extended.addAll(Arrays.asList(selectors));
+        return new ShadowPath(extended);
+    }
+
+    /**
+     * Resolves the path in one call, without waiting.
+     * @param driver WebDriver (or frame-focused driver) to resolve in
+     * @return the element, or null if any step of the path is missing
+     */
+    public WebElement find(WebDriver driver) {
+        return (WebElement) ((JavascriptExecutor) driver).executeScript(RESOLVE_SCRIPT, selectors);
+    }
+
+    /**
+     * Waits until the path resolves, within the running {@link Deadline} if any.
+     * @param driver  WebDriver (or frame-focused driver) to resolve in
+     * @param timeout Maximum wait time
+     * @return the element
+     * @throws org.openqa.selenium.TimeoutException if the path does not resolve in time
+     */
+    public WebElement waitFor(WebDriver driver, Duration timeout) {
+        return DOM_WAIT_ENGINE.pollUntil(driver, this::find, Deadline.remaining(timeout), "shadow path " + this);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(" >>> ", selectors);
+    }
+}
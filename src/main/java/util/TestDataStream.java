@@ -0,0 +1,209 @@
+package util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams the records of a JSON-lines (.jsonl) or CSV (.csv) test data file as TestNG data provider rows,
+ * one {@code Map<String, Object>} per row. A background thread parses the file into a bounded buffer,
+ * so memory stays flat however many rows the file has and parsing overlaps with the running tests.
+ * Use it from a sequential data provider (see {@link base.RowWorkerPool} to run the rows in parallel):
+ * TestNG reads a parallel data provider to the end before running any row.
+ * CSV files need a header line; every CSV value is a String.
+ */
+public class TestDataStream implements Iterator<Object[]>, AutoCloseable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // Marks the end of the file in the buffer
+    private static final Object END = new Object();
+
+    private final Path filePath;
+    private final BlockingQueue<Object> buffer;
+    private final Thread reader;
+    // Rows the reader has put into the buffer so far
+    private final AtomicLong rowsRead = new AtomicLong();
+    private Object nextRow;
+
+    private TestDataStream(Path filePath, int bufferSize) {
+        this.filePath = filePath;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        this.reader = new Thread(this::read, "test-data-reader-" + filePath.getFileName());
+        this.reader.setDaemon(true);
+    }
+
+    /**
+     * Opens a test data file and starts reading it in the background.
+     * @param filePath   Path of a .jsonl or .csv file
+     * @param bufferSize Maximum number of rows read ahead of the tests
+     * @return the row iterator, to be returned from a @DataProvider
+     */
+    public static TestDataStream open(Path filePath, int bufferSize) {
+        String fileName = filePath.getFileName().toString().toLowerCase();
+        if (!fileName.endsWith(".jsonl") && !fileName.endsWith(".csv")) {
+            throw new IllegalArgumentException("Unsupported test data file, expected .jsonl or .csv: " + filePath);
+        }
+        TestDataStream stream = new TestDataStream(filePath, bufferSize);
+        stream.reader.start();
+        return stream;
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        if (nextRow == null) {
+            try {
+                nextRow = buffer.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading " + filePath, e);
+            }
+        }
+        if (nextRow instanceof RuntimeException) {
+            throw (RuntimeException) nextRow;
+        }
+        return nextRow != END;
+    }
+
+    @Override
+    public synchronized Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more rows in " + filePath);
+        }
+        Object row = nextRow;
+        nextRow = null;
+        return new Object[]{row};
+    }
+
+    /**
+     * @return number of rows parsed into the buffer so far, consumed or not
+     */
+    long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    /**
+     * Stops reading, e.g. when the consumer gives up before the end of the file.
+     */
+    @Override
+    public void close() {
+        reader.interrupt();
+    }
+
+    private void read() {
+        try (BufferedReader fileReader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            if (filePath.getFileName().toString().toLowerCase().endsWith(".csv")) {
+                readCsv(fileReader);
+            } else {
+                readJsonLines(fileReader);
+            }
+            buffer.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            RuntimeException failure = e instanceof IOException
+                    ? new UncheckedIOException("Failed to read test data file: " + filePath, (IOException) e)
+                    : (RuntimeException) e;
+            // Behind the rows already read, so they still run before the failure is reported
+            try {
+                buffer.put(failure);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Parses one root-level JSON object at a time, never the whole file.
+     */
+    private void readJsonLines(BufferedReader fileReader) throws IOException, InterruptedException {
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(fileReader);
+             MappingIterator<Map<String, Object>> rows = OBJECT_MAPPER.readerFor(Map.class).readValues(parser)) {
+            while (rows.hasNextValue()) {
+                buffer.put(rows.nextValue());
+                rowsRead.incrementAndGet();
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader fileReader) throws IOException, InterruptedException {
+        List<String> header = readCsvRecord(fileReader);
+        if (header == null) {
+            return;
+        }
+        List<String> values;
+        while ((values = readCsvRecord(fileReader)) != null) {
+            if (values.size() == 1 && values.get(0).isEmpty()) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                row.put(header.get(i), i < values.size() ? values.get(i) : null);
+            }
+            buffer.put(row);
+            rowsRead.incrementAndGet();
+        }
+    }
+
+    /**
+     * Reads one RFC 4180 record: quoted values may contain commas, doubled quotes and line breaks.
+     * @return the values of the record, or null at the end of the file
+     */
+    private static List<String> readCsvRecord(BufferedReader fileReader) throws IOException {
+        String line = fileReader.readLine();
+        if (line == null) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        value.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            line = fileReader.readLine();
+            if (line == null) {
+                throw new IOException("Unterminated quoted value at the end of the file");
+            }
+            value.append('\n');
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
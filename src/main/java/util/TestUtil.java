@@ -6,8 +6,6 @@ import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.io.FileHandler;
 
 import java.io.File;
-import java.time.Instant;
-import java.util.UUID;
 
 /**
  * Utility class for test-related helper methods.
@@ -15,15 +13,14 @@ import java.util.UUID;
 public class TestUtil extends BaseTest {
 
     /**
-     * Generates a unique string using a prefix, a random UUID, and the current timestamp.
+     * Generates a unique string from a prefix, the run ID, the worker ID and a run-wide counter.
+     * Unique across parallel workers and across runs or shards started at the same time.
      *
      * @param prefix the prefix to prepend to the unique string
      * @return a unique string
      */
     public static String generateUniqueString(String prefix) {
-        String uuid = UUID.randomUUID().toString().replaceAll("-", "");
-        String timestamp = String.valueOf(Instant.now().toEpochMilli()).substring(8);
-        return prefix + uuid.substring(0, 4) + timestamp;
+        return UniqueIdGenerator.getDefault().next(prefix);
     }
 
     /**
@@ -37,16 +34,16 @@ public class TestUtil extends BaseTest {
         String screenshotDirectory = System.getProperty("user.dir")
                 .concat(configProperties.getProperty("screenshotPath"));
         String screenshotPath = screenshotDirectory + currentDate + ".png";
-        File screenshotFile = ((TakesScreenshot) webDriver).getScreenshotAs(OutputType.FILE);
+        File screenshotFile = ((TakesScreenshot) getWebDriver()).getScreenshotAs(OutputType.FILE);
 
         // Assumes 'test' is an ExtentTest object defined in BaseTest
-        extentTest.info("Taking screenshot: " + screenshotPath);
+        getReportLog().info("Taking screenshot: " + screenshotPath);
         try {
             File destinationFile = new File(screenshotPath);
             FileHandler.copy(screenshotFile, destinationFile);
-            extentTest.info("Screenshot taken: " + screenshotPath);
+            getReportLog().info("Screenshot taken: " + screenshotPath);
         } catch (Exception e) {
-            extentTest.fail("Failed to take screenshot: " + e.getMessage());
+            getReportLog().fail("Failed to take screenshot: " + e.getMessage());
         }
 
         return screenshotPath;
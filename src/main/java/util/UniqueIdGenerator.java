@@ -0,0 +1,93 @@
+package util;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates unique, Salesforce-safe (lowercase alphanumeric) names for test records.
+ * A name is the prefix followed by the run ID, the worker ID and a counter, all base36:
+ * <ul>
+ *   <li>run ID: fixed width, start second of the run plus random characters, so shards started
+ *       in the same second differ (or the {@code runId} system property, for sharded CI)</li>
+ *   <li>worker ID: number of the generating thread, prefixed with its length so it cannot run into the counter</li>
+ *   <li>counter: lock-free, shared by all workers of the run</li>
+ * </ul>
+ */
+public final class UniqueIdGenerator {
+
+    private static final int RUN_TIME_WIDTH = 6;
+    private static final int RUN_RANDOM_WIDTH = 3;
+
+    private static final UniqueIdGenerator DEFAULT = new UniqueIdGenerator(
+            System.getProperty("runId", generateRunId()));
+
+    private final String runId;
+    private final AtomicLong counter = new AtomicLong();
+    private final AtomicInteger workerCount = new AtomicInteger();
+    private final ThreadLocal<String> workerId;
+
+    /**
+     * Creates a generator.
+     * @param runId Run ID, alphanumeric; must differ between runs and shards sharing an org
+     */
+    public UniqueIdGenerator(String runId) {
+        if (!runId.matches("[A-Za-z0-9]+")) {
+            throw new IllegalArgumentException("Run ID must be alphanumeric: " + runId);
+        }
+        this.runId = runId.toLowerCase();
+        this.workerId = ThreadLocal.withInitial(() -> {
+            String id = Integer.toString(workerCount.getAndIncrement(), Character.MAX_RADIX);
+            return Character.forDigit(id.length(), Character.MAX_RADIX) + id;
+        });
+    }
+
+    /**
+     * @return the generator of this run
+     */
+    public static UniqueIdGenerator getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return the run ID encoded in every name
+     */
+    public String getRunId() {
+        return runId;
+    }
+
+    /**
+     * @return the worker ID of the calling thread, encoded in every name it generates
+     */
+    public String getWorkerId() {
+        return workerId.get();
+    }
+
+    /**
+     * Generates the next unique name.
+     * @param prefix Prefix of the name (e.g. AN for account names)
+     * @return the name
+     */
+    public String next(String prefix) {
+        return new StringBuilder(prefix.length() + runId.length() + 12)
+                .append(prefix)
+                .append(runId)
+                .append(workerId.get())
+                .append(Long.toString(counter.incrementAndGet(), Character.MAX_RADIX))
+                .toString();
+    }
+
+    private static String generateRunId() {
+        String time = Long.toString(Instant.now().getEpochSecond(), Character.MAX_RADIX);
+        StringBuilder runId = new StringBuilder(RUN_TIME_WIDTH + RUN_RANDOM_WIDTH)
+                .append(time.substring(Math.max(0, time.length() - RUN_TIME_WIDTH)));
+        while (runId.length() < RUN_TIME_WIDTH) {
+            runId.insert(0, '0');
+        }
+        for (int i = 0; i < RUN_RANDOM_WIDTH; i++) {
+            runId.append(Character.forDigit(ThreadLocalRandom.current().nextInt(Character.MAX_RADIX), Character.MAX_RADIX));
+        }
+        return runId.toString();
+    }
+}
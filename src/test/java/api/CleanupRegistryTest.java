@@ -0,0 +1,150 @@
+package api;
+
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests the batched, dependency-ordered record deletion against a local REST stub.
+ */
+public class CleanupRegistryTest {
+
+    private static final Map<String, String> KEY_PREFIXES =
+            Map.of("a0Q", "SBQQ__Quote__c", "006", "Opportunity", "003", "Contact", "001", "Account");
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Test
+    public void deletesChildrenBeforeParentsInBoundedBatches() throws Exception {
+        CleanupRegistry registry = new CleanupRegistry(newRegistryFile(), "run1");
+        registerAll(registry, "Account", "001", 450);
+        registerAll(registry, "Contact", "003", 450);
+        registerAll(registry, "Opportunity", "006", 450);
+        registerAll(registry, "SBQQ__Quote__c", "a0Q", 450);
+
+        try (SalesforceStub stub = new SalesforceStub()) {
+            stub.on("DELETE", "/composite/sobjects", request -> deleteResponse(request, Set.of()));
+            CleanupRegistry.Report report = registry.deleteAll(stub.client(), 3);
+
+            assertEquals(report.getDeletedCount(), 1800);
+            assertEquals(report.getFailedCount(), 0);
+            assertTrue(maxInFlight.get() > 1 && maxInFlight.get() <= 3, "Batches in flight: " + maxInFlight.get());
+
+            List<String> typeOfRequests = new ArrayList<>();
+            for (SalesforceStub.Request request : stub.requests()) {
+                List<String> ids = ids(request);
+                assertTrue(ids.size() <= 200, "Batch of " + ids.size());
+                assertTrue(request.query.contains("allOrNone=false"));
+                assertEquals(ids.stream().map(CleanupRegistryTest::typeOf).distinct().count(), 1L, "Mixed batch: " + ids);
+                typeOfRequests.add(typeOf(ids.get(0)));
+            }
+            // 450 records per type make batches of 200, 200 and 50
+            assertEquals(typeOfRequests.size(), 12);
+            assertEquals(typeOfRequests.stream().distinct().collect(Collectors.toList()), CleanupRegistry.DELETION_ORDER);
+            assertTrue(registry.getRegisteredRecords().isEmpty());
+        }
+    }
+
+    @Test
+    public void failedRecordsStayRegistered() throws Exception {
+        CleanupRegistry registry = new CleanupRegistry(newRegistryFile(), "run1");
+        registerAll(registry, "Account", "001", 5);
+        registerAll(registry, "Contact", "003", 5);
+        String lockedAccount = id("001", 2);
+        String deletedContact = id("003", 4);
+
+        try (SalesforceStub stub = new SalesforceStub()) {
+            stub.on("DELETE", "/composite/sobjects", request -> deleteResponse(request, Set.of(lockedAccount, deletedContact)));
+            CleanupRegistry.Report report = registry.deleteAll(stub.client(), 2);
+
+            // The contact was already gone, which counts as deleted
+            assertEquals(report.getDeletedCount(), 9);
+            assertEquals(report.getFailedCount(), 1);
+            assertTrue(report.getFailures().get("Account").containsKey(lockedAccount), report.toString());
+            assertEquals(registry.getRegisteredRecords(), Map.of("Account", Set.of(lockedAccount)));
+        }
+    }
+
+    @Test
+    public void deletesOnlyItsRunAndKeepsLinesAppendedMeanwhile() throws Exception {
+        Path registryFile = newRegistryFile();
+        CleanupRegistry thisRun = new CleanupRegistry(registryFile, "run1");
+        CleanupRegistry otherRun = new CleanupRegistry(registryFile, "run2");
+        registerAll(thisRun, "Account", "001", 3);
+        otherRun.register("Account", id("001", 100));
+        String appendedDuringCleanup = id("001", 101);
+
+        try (SalesforceStub stub = new SalesforceStub()) {
+            stub.on("DELETE", "/composite/sobjects", request -> {
+                // Another run registering while this one deletes
+                otherRun.register("Account", appendedDuringCleanup);
+                return deleteResponse(request, Set.of());
+            });
+            CleanupRegistry.Report report = thisRun.deleteRun(stub.client(), 2);
+
+            assertEquals(report.getDeletedCount(), 3);
+            assertTrue(ids(stub.requests().get(0)).stream().allMatch(id -> id.compareTo(id("001", 3)) < 0));
+            assertEquals(thisRun.getRegisteredRecords(), Map.of("Account", Set.of(id("001", 100), appendedDuringCleanup)));
+        }
+    }
+
+    private SalesforceStub.Response deleteResponse(SalesforceStub.Request request, Set<String> failingIds) {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String results = ids(request).stream().map(id -> {
+            if (!failingIds.contains(id)) {
+                return "{\"id\":\"" + id + "\",\"success\":true,\"errors\":[]}";
+            }
+            String statusCode = "Contact".equals(typeOf(id)) ? "ENTITY_IS_DELETED" : "DELETE_FAILED";
+            // Like Salesforce, failed rows carry no id
+            return "{\"id\":null,\"success\":false,\"errors\":[{\"statusCode\":\"" + statusCode
+                    + "\",\"message\":\"Cannot delete " + id + "\",\"fields\":[]}]}";
+        }).collect(Collectors.joining(",", "[", "]"));
+        inFlight.decrementAndGet();
+        return new SalesforceStub.Response(200, results);
+    }
+
+    private static List<String> ids(SalesforceStub.Request request) {
+        for (String parameter : request.query.split("&")) {
+            if (parameter.startsWith("ids=")) {
+                return Arrays.asList(parameter.substring("ids=".length()).split(","));
+            }
+        }
+        return List.of();
+    }
+
+    private static String typeOf(String id) {
+        return KEY_PREFIXES.get(id.substring(0, 3));
+    }
+
+    private static void registerAll(CleanupRegistry registry, String sObjectType, String keyPrefix, int count) {
+        for (int i = 0; i < count; i++) {
+            registry.register(sObjectType, id(keyPrefix, i));
+        }
+    }
+
+    private static String id(String keyPrefix, int number) {
+        return keyPrefix + String.format("%015d", number);
+    }
+
+    private static Path newRegistryFile() throws Exception {
+        return Files.createTempDirectory("cleanupRegistry").resolve("cleanup-registry.jsonl");
+    }
+}
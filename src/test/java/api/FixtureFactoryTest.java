@@ -0,0 +1,98 @@
+package api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.annotations.Test;
+import util.RunDataStore;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * Tests the fixture factory against a stub of the REST query and sObject tree endpoints.
+ */
+public class FixtureFactoryTest {
+
+    private static final String RECORD_TYPES = "{\"totalSize\":2,\"done\":true,\"records\":["
+            + "{\"Id\":\"012A\",\"SobjectType\":\"Account\",\"Name\":\"ENT and Reseller Account Record Type\"},"
+            + "{\"Id\":\"012O\",\"SobjectType\":\"Opportunity\",\"Name\":\"ENT LC Opportunity\"}]}";
+
+    private static final String TREE_CREATED = "{\"hasErrors\":false,\"results\":["
+            + "{\"referenceId\":\"account\",\"id\":\"001A\"},"
+            + "{\"referenceId\":\"contact\",\"id\":\"003C\"},"
+            + "{\"referenceId\":\"opportunity\",\"id\":\"006O\"}]}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void createsRecordsInOneTreeRequestAndStoresIds() throws Exception {
+        Path runDataFile = Files.createTempFile("runData", ".json");
+        Files.delete(runDataFile);
+        RunDataStore runDataStore = RunDataStore.load(runDataFile.toString());
+        try (SalesforceStub stub = new SalesforceStub()
+                .on("GET", "/query", request -> new SalesforceStub.Response(200, RECORD_TYPES))
+                .on("POST", "/composite/tree/Account", request -> new SalesforceStub.Response(201, TREE_CREATED))) {
+            FixtureFactory fixtureFactory = new FixtureFactory(stub.client(), testData(), "dd/MM/yyyy", runDataStore, "worker-1");
+
+            Map<String, String> runData = fixtureFactory.createAccountWithContactAndOpportunity(
+                    "AN1", "FN1", "LN1", "an1@example.com", "ON1", "10/10/2025");
+
+            assertEquals(runData.get("accountId"), "001A");
+            assertEquals(runData.get("contactId"), "003C");
+            assertEquals(runData.get("opportunityId"), "006O");
+            assertEquals(runDataStore.get("worker-1", "opportunityId"), "006O");
+            assertEquals(runDataStore.get("worker-1", "contactName"), "FN1 LN1");
+
+            List<SalesforceStub.Request> requests = stub.requests();
+            assertEquals(requests.size(), 2);
+            assertTrue(requests.get(0).query.contains("RecordType"), requests.get(0).query);
+            assertEquals(requests.get(1).authorization, "Bearer token");
+
+            Map<String, Object> account = (Map<String, Object>) ((List<?>) objectMapper
+                    .readValue(requests.get(1).body, Map.class).get("records")).get(0);
+            assertEquals(account.get("Name"), "AN1");
+            assertEquals(account.get("RecordTypeId"), "012A");
+            assertEquals(account.get("CurrencyIsoCode"), "USD");
+            Map<String, Object> contact = child(account, "Contacts");
+            assertEquals(contact.get("LastName"), "LN1");
+            assertEquals(contact.get("Primary_Language__c"), "English");
+            Map<String, Object> opportunity = child(account, "Opportunities");
+            assertEquals(opportunity.get("RecordTypeId"), "012O");
+            assertEquals(opportunity.get("CloseDate"), "2025-10-10");
+            assertEquals(opportunity.get("Deal_Type__c"), "Full");
+        }
+    }
+
+    @Test
+    public void failsWithoutStoringWhenTheTreeRequestIsRejected() throws Exception {
+        Path runDataFile = Files.createTempFile("runData", ".json");
+        Files.delete(runDataFile);
+        RunDataStore runDataStore = RunDataStore.load(runDataFile.toString());
+        try (SalesforceStub stub = new SalesforceStub()
+                .on("GET", "/query", request -> new SalesforceStub.Response(200, RECORD_TYPES))
+                .on("POST", "/composite/tree/Account", request -> new SalesforceStub.Response(400,
+                        "{\"hasErrors\":true,\"results\":[{\"referenceId\":\"contact\",\"errors\":"
+                                + "[{\"statusCode\":\"REQUIRED_FIELD_MISSING\",\"message\":\"Required fields are missing\"}]}]}"))) {
+            FixtureFactory fixtureFactory = new FixtureFactory(stub.client(), testData(), "dd/MM/yyyy", runDataStore, "worker-1");
+
+            RuntimeException error = expectThrows(RuntimeException.class, () -> fixtureFactory
+                    .createAccountWithContactAndOpportunity("AN1", "FN1", "LN1", "an1@example.com", "ON1", "10/10/2025"));
+            assertTrue(error.getMessage().contains("REQUIRED_FIELD_MISSING"), error.getMessage());
+            assertNull(runDataStore.get("worker-1", "accountId"));
+        }
+    }
+
+    private Map<String, Object> testData() throws Exception {
+        return objectMapper.readValue(Path.of(System.getProperty("user.dir"), "src", "test", "resources", "testData.json").toFile(), Map.class);
+    }
+
+    private static Map<String, Object> child(Map<String, Object> parent, String relationship) {
+        return (Map<String, Object>) ((List<?>) ((Map<String, Object>) parent.get(relationship)).get("records")).get(0);
+    }
+}
@@ -0,0 +1,116 @@
+package api;
+
+import org.testng.annotations.Test;
+import util.JsonUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests leasing, returning, retiring and replenishing of the fixture pool, with an in-memory fixture creator.
+ */
+public class FixturePoolTest {
+
+    private final AtomicInteger createdCount = new AtomicInteger();
+
+    @Test
+    public void parallelWorkersNeverShareAFixture() throws Exception {
+        Path poolFile = newPoolFile();
+        try (FixturePool pool = new FixturePool(poolFile, 4, 2, Duration.ofHours(1), this::createFixture)) {
+            Set<String> leasedAccounts = ConcurrentHashMap.newKeySet();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> workers = new ArrayList<>();
+                for (int i = 0; i < 40; i++) {
+                    workers.add(executor.submit(() -> {
+                        start.await();
+                        FixturePool.Lease lease = pool.lease();
+                        assertTrue(leasedAccounts.add(lease.getRunData().get("accountName")),
+                                "Fixture leased twice: " + lease.getRunData());
+                        pool.retire(lease);
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals(leasedAccounts.size(), 40);
+        }
+    }
+
+    @Test
+    public void replenishesTheStockInTheBackground() throws Exception {
+        Path poolFile = newPoolFile();
+        try (FixturePool pool = new FixturePool(poolFile, 3, 2, Duration.ofHours(1), this::createFixture)) {
+            pool.lease();
+            waitForAvailable(pool, 3);
+            assertEquals(pool.availableCount(), 3);
+        }
+    }
+
+    @Test
+    public void returnedFixturesAreLeasedAgainByTheNextRun() throws Exception {
+        Path poolFile = newPoolFile();
+        String returnedAccount;
+        try (FixturePool firstRun = new FixturePool(poolFile, 0, 1, Duration.ofHours(1), this::createFixture)) {
+            FixturePool.Lease lease = firstRun.lease();
+            returnedAccount = lease.getRunData().get("accountName");
+            firstRun.giveBack(lease);
+        }
+        try (FixturePool secondRun = new FixturePool(poolFile, 0, 1, Duration.ofHours(1), this::createFixture)) {
+            assertEquals(secondRun.lease().getRunData().get("accountName"), returnedAccount);
+        }
+    }
+
+    @Test
+    public void closeRetiresHeldLeasesAndAbandonedLeasesExpire() throws Exception {
+        Path poolFile = newPoolFile();
+        FixturePool crashedRun = new FixturePool(poolFile, 0, 1, Duration.ofHours(1), this::createFixture);
+        String abandonedAccount = crashedRun.lease().getRunData().get("accountName");
+
+        try (FixturePool nextRun = new FixturePool(poolFile, 0, 1, Duration.ZERO, this::createFixture)) {
+            Thread.sleep(5);
+            FixturePool.Lease lease = nextRun.lease();
+            assertNotEquals(lease.getRunData().get("accountName"), abandonedAccount);
+        }
+        List<?> fixtures = (List<?>) JsonUtil.readJsonFileToMap(poolFile.toString()).get("fixtures");
+        assertEquals(fixtures.size(), 0, "Leased fixtures left in the pool: " + fixtures);
+    }
+
+    private Map<String, String> createFixture() {
+        int number = createdCount.incrementAndGet();
+        return Map.of("accountName", "AN" + number, "opportunityId", "006" + number);
+    }
+
+    private static Path newPoolFile() throws Exception {
+        Path directory = Files.createTempDirectory("fixturePool");
+        return directory.resolve("fixture-pool.json");
+    }
+
+    private static void waitForAvailable(FixturePool pool, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (pool.availableCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+}
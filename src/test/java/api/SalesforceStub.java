@@ -0,0 +1,106 @@
+package api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Local HTTP server mimicking the Salesforce REST endpoints a test needs.
+ * Responses are registered per method and path; every request is recorded.
+ */
+class SalesforceStub implements AutoCloseable {
+
+    static final String API_VERSION = "59.0";
+
+    private final HttpServer server;
+    // Serves requests concurrently, like the real API
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, Function<Request, Response>> handlers = new ConcurrentHashMap<>();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+
+    SalesforceStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Registers the response of a method and path below /services/data/vXX.X.
+     */
+    SalesforceStub on(String method, String path, Function<Request, Response> handler) {
+        handlers.put(method + " " + path, handler);
+        return this;
+    }
+
+    SalesforceApiClient client() {
+        return new SalesforceApiClient(URI.create("http://127.0.0.1:" + server.getAddress().getPort()), "token",
+                API_VERSION, Duration.ofSeconds(5));
+    }
+
+    List<Request> requests() {
+        return requests;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath().replace("/services/data/v" + API_VERSION, "");
+        Request request = new Request(exchange.getRequestMethod(), path, exchange.getRequestURI().getRawQuery(),
+                exchange.getRequestHeaders().getFirst("Authorization"),
+                new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        requests.add(request);
+        Function<Request, Response> handler = handlers.get(request.method + " " + path);
+        Response response = handler != null ? handler.apply(request)
+                : new Response(404, "[{\"errorCode\":\"NOT_FOUND\",\"message\":\"No stub for " + path + "\"}]");
+        byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(response.status, body.length == 0 ? -1 : body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    static final class Request {
+        final String method;
+        final String path;
+        final String query;
+        final String authorization;
+        final String body;
+
+        private Request(String method, String path, String query, String authorization, String body) {
+            this.method = method;
+            this.path = path;
+            this.query = query;
+            this.authorization = authorization;
+            this.body = body;
+        }
+    }
+
+    static final class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package listeners;
 
 import base.BaseTest;
+import base.ExecutionContext;
+import base.LeanBrowserMode;
 import com.aventstack.extentreports.MediaEntityBuilder;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.markuputils.ExtentColor;
@@ -22,6 +24,11 @@ public class CustomReportingListener extends BaseTest implements ITestListener {
     @Override
     public void onTestStart(ITestResult testResult) {
         ITestListener.super.onTestStart(testResult);
+        recordTimeToFirstTest();
+        ExecutionContext.current().setTestBlockName(testResult.getTestContext().getName());
+        if (ExecutionContext.current().hasWebDriver()) {
+            LeanBrowserMode.markTestStart(getWebDriver());
+        }
     }
 
     /**
@@ -32,7 +39,8 @@ public class CustomReportingListener extends BaseTest implements ITestListener {
         ITestListener.super.onTestSuccess(testResult);
         String logMessage = "<b>" + testResult.getMethod().getMethodName() + " passed successfully." + "</b>";
         Markup markup = MarkupHelper.createLabel(logMessage, ExtentColor.GREEN);
-        extentTest.log(Status.PASS, markup);
+        getReportLog().log(Status.PASS, markup);
+        logLeanModeSummary();
     }
 
     /**
@@ -41,11 +49,12 @@ public class CustomReportingListener extends BaseTest implements ITestListener {
     @Override
     public void onTestFailure(ITestResult testResult) {
         ITestListener.super.onTestFailure(testResult);
-        extentTest.log(Status.FAIL, "Test case failed: " + testResult.getMethod().getMethodName());
+        getReportLog().log(Status.FAIL, "Test case failed: " + testResult.getMethod().getMethodName());
         String screenshotPath = TestUtil.captureScreenshot();
 
-        extentTest.fail(testResult.getThrowable().getMessage(),
+        getReportLog().fail(testResult.getThrowable().getMessage(),
                 MediaEntityBuilder.createScreenCaptureFromPath(screenshotPath).build());
+        logLeanModeSummary();
     }
 
     /**
@@ -82,9 +91,24 @@ public class CustomReportingListener extends BaseTest implements ITestListener {
 
     /**
      * Invoked after all the tests have run.
+     * Returns the browser sessions used by the test block to the pool, where they are reset for the next block.
      */
     @Override
     public void onFinish(ITestContext context) {
         ITestListener.super.onFinish(context);
+        ExecutionContext.current().releaseWebDriver();
+        ExecutionContext.releaseWebDrivers(context.getName());
+    }
+
+    /**
+     * Logs the requests avoided by lean mode during the finished test, if lean mode is active.
+     */
+    private void logLeanModeSummary() {
+        if (ExecutionContext.current().hasWebDriver()) {
+            String summary = LeanBrowserMode.describeSinceTestStart(getWebDriver());
+            if (summary != null) {
+                getReportLog().info(summary);
+            }
+        }
     }
 }
\ No newline at end of file
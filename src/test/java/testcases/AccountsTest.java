@@ -1,10 +1,10 @@
 package testcases;
 
 import base.BaseTest;
+import base.ReportLog;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import pages.AccountsPage;
-import util.JsonUtil;
 import util.TestUtil;
 
 import java.util.HashMap;
@@ -20,10 +20,10 @@ public class AccountsTest extends BaseTest {
      */
     @BeforeMethod
     public void generateUniqueTestData() {
-        extentTest = extentReports.createTest(
+        setExtentTest(ReportLog.createTest(
                 "Generate Unique Test Data",
                 "Test to generate unique test data for Accounts"
-        );
+        ));
 
         // Generate unique test data
         String accountName = TestUtil.generateUniqueString("AN");
@@ -41,10 +41,10 @@ public class AccountsTest extends BaseTest {
         testDataMap.put("opportunityName", opportunityName);
         testDataMap.put("email", email);
 
-        // Write test data to JSON file
-        JsonUtil.writeMapToJsonFile(uniqueTestDataFilePath, testDataMap);
+        // Keep test data in the current worker's run data scope, persisted to the JSON file in the background
+        putRunData(testDataMap);
 
-        extentTest.pass("Unique test data generated and written to file: " + uniqueTestDataFilePath);
+        getReportLog().pass("Unique test data generated and saved to file: " + uniqueTestDataFilePath);
     }
 
     /**
@@ -52,18 +52,18 @@ public class AccountsTest extends BaseTest {
      */
     @Test
     public void createAccountTest() {
-        extentTest = extentReports.createTest(
+        setExtentTest(ReportLog.createTest(
                 "Create Account Test",
                 "Test to verify account creation functionality"
-        );
+        ));
 
         // Retrieve test data for accounts
         Map<String, Object> accountsTestData = (Map<String, Object>) testData.get("accounts");
-        String accountName = JsonUtil.readValueByKeyFromJsonFile(uniqueTestDataFilePath, "accountName");
+        String accountName = getRunDataValue("accountName");
         String headerText = accountsTestData.get("h2_NewAccount").toString();
         String recordType = accountsTestData.get("recordType").toString();
 
-        AccountsPage accountsPage = new AccountsPage();
+        AccountsPage accountsPage = getPage(AccountsPage.class);
 
         // Perform account creation steps
         accountsPage.waitUntilAccountsTabIsVisible();
@@ -83,7 +83,8 @@ public class AccountsTest extends BaseTest {
                 accountsTestData.get("entityLabel").toString(),
                 accountName
         ) : "Account name is not displayed after creation: " + accountName;
+        registerCreatedRecord("Account");
 
-        extentTest.pass("Account created successfully with name: " + accountName);
+        getReportLog().pass("Account created successfully with name: " + accountName);
     }
 }
\ No newline at end of file
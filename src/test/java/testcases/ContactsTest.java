@@ -1,10 +1,10 @@
 package testcases;
 
 import base.BaseTest;
+import base.ReportLog;
 import org.testng.annotations.Test;
 import pages.AccountsPage;
 import pages.ContactsPage;
-import util.JsonUtil;
 import util.TestUtil;
 
 import java.util.Map;
@@ -20,18 +20,18 @@ public class ContactsTest extends BaseTest {
     @Test
     public void createContactTest() {
         // Initialize the test report
-        extentTest = extentReports.createTest("Create Contact Test", "Test to verify contact creation functionality");
+        setExtentTest(ReportLog.createTest("Create Contact Test", "Test to verify contact creation functionality"));
 
         // Retrieve test data for contacts
         Map<String, Object> contactsTestData = (Map<String, Object>) testData.get("contacts");
-        String accountName = JsonUtil.readValueByKeyFromJsonFile(uniqueTestDataFilePath, "accountName");
-        String firstName = JsonUtil.readValueByKeyFromJsonFile(uniqueTestDataFilePath, "firstName");
-        String lastName = JsonUtil.readValueByKeyFromJsonFile(uniqueTestDataFilePath, "lastName");
-        String contactName = JsonUtil.readValueByKeyFromJsonFile(uniqueTestDataFilePath, "contactName");
-        String email = JsonUtil.readValueByKeyFromJsonFile(uniqueTestDataFilePath, "email");
+        String accountName = getRunDataValue("accountName");
+        String firstName = getRunDataValue("firstName");
+        String lastName = getRunDataValue("lastName");
+        String contactName = getRunDataValue("contactName");
+        String email = getRunDataValue("email");
 
         // Create ContactsPage object and perform actions to create a new contact
-        ContactsPage contactsPage = new ContactsPage();
+        ContactsPage contactsPage = getPage(ContactsPage.class);
         contactsPage.waitForContactsTabVisible();
         contactsPage.clickNewContactFromDropdown();
         contactsPage.isContactsDialogHeaderTextCorrect(contactsTestData.get("h2_NewAccount").toString());
@@ -47,8 +47,9 @@ public class ContactsTest extends BaseTest {
         // Assert that the contact name is displayed after creation
         assert contactsPage.isContactNameDisplayed(contactsTestData.get("entityLabel").toString(), lastName)
                 : "Contact name is not displayed after creation: " + contactName;
+        registerCreatedRecord("Contact");
 
         // Log the successful creation of the contact
-        extentTest.info("Contact created successfully with Name: " + contactName + ", Account: " + accountName);
+        getReportLog().info("Contact created successfully with Name: " + contactName + ", Account: " + accountName);
     }
 }
\ No newline at end of file
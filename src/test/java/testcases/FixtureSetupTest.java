@@ -0,0 +1,57 @@
+package testcases;
+
+import api.FixtureFactory;
+import api.FixturePool;
+import api.SalesforceApiClient;
+import base.BaseTest;
+import base.ExecutionContext;
+import base.ReportLog;
+import org.testng.annotations.Test;
+import util.TestUtil;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Seeds the Account, Contact and Opportunity of a quote workflow through the REST API,
+ * replacing AccountsTest, ContactsTest and OpportunitiesTest when only the quote behavior is under test.
+ * With fixturePoolSize set, the records come ready-made from the fixture pool.
+ */
+public class FixtureSetupTest extends BaseTest {
+
+    /**
+     * Takes the records from the fixture pool when one is configured, otherwise creates them in one API request;
+     * stores their names and IDs in the run data and opens the opportunity, where QuoteTest starts.
+     */
+    @Test
+    public void seedAccountContactOpportunity() {
+        setExtentTest(ReportLog.createTest("Seed Fixtures", "Creates the Account, Contact and Opportunity through the API"));
+
+        Map<String, String> runData;
+        if (Integer.parseInt(configProperties.getProperty("fixturePoolSize")) > 0) {
+            // Leased until the end of the run, then retired and deleted with the run's other records
+            FixturePool.Lease lease = getFixturePool().lease();
+            runData = lease.getRunData();
+            putRunData(runData);
+            getReportLog().info("Leased pooled fixtures " + lease.getId() + ": " + runData);
+        } else {
+            String accountName = TestUtil.generateUniqueString("AN");
+            FixtureFactory fixtureFactory = new FixtureFactory(SalesforceApiClient.fromConfig(configProperties), testData,
+                    configProperties.getProperty("dateFormat"), runDataStore, ExecutionContext.current().getRunDataScope());
+            runData = fixtureFactory.createAccountWithContactAndOpportunity(accountName,
+                    TestUtil.generateUniqueString("FN"), TestUtil.generateUniqueString("LN"), accountName + "@yext.com",
+                    TestUtil.generateUniqueString("ON"), getOpportunityCloseDate());
+            getReportLog().info("Created fixtures through the API: " + runData);
+        }
+        registerCreatedRecord("Opportunity", runData.get("opportunityId"));
+        registerCreatedRecord("Contact", runData.get("contactId"));
+        registerCreatedRecord("Account", runData.get("accountId"));
+
+        URI currentUrl = URI.create(getWebDriver().getCurrentUrl());
+        getWebDriver().get(currentUrl.getScheme() + "://" + currentUrl.getAuthority()
+                + "/lightning/r/Opportunity/" + runData.get("opportunityId") + "/view");
+        getCommon().waitForApplicationIdle();
+        getReportLog().pass("Opened Opportunity " + runData.get("opportunityName")
+                + " seeded for Account " + runData.get("accountName"));
+    }
+}
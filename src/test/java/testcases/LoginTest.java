@@ -1,6 +1,7 @@
 package testcases;
 
 import base.BaseTest;
+import base.ReportLog;
 import org.testng.annotations.Test;
 import pages.LoginPage;
 
@@ -15,21 +16,21 @@ public class LoginTest extends BaseTest {
     @Test
     public void loginApplication() {
         // Create a test entry in the extent report
-        extentTest = extentReports.createTest("Login Test", "Test to verify login functionality");
-        extentTest.info("Application URL: "+ webDriver.getCurrentUrl());
+        setExtentTest(ReportLog.createTest("Login Test", "Test to verify login functionality"));
+        getReportLog().info("Application URL: "+ getWebDriver().getCurrentUrl());
 
         // Initialize the LoginPage object
-        LoginPage loginPage = new LoginPage();
+        LoginPage loginPage = getPage(LoginPage.class);
 
-        // Perform login using credentials from configuration properties
+        // Perform login using credentials from configuration properties, reusing a cached session when valid
         String username = configProperties.getProperty("username");
         String password = configProperties.getProperty("password");
-        loginPage.performLogin(username, password);
+        loginPage.performLoginWithSessionSnapshot(username, password);
 
         // Assert that login was successful
         assert loginPage.isLoginSuccessful() : "Login was not successful";
 
         // Log the result in the extent report
-        extentTest.info("User redirected to home page after successful login.");
+        getReportLog().info("User redirected to home page after successful login.");
     }
 }
\ No newline at end of file
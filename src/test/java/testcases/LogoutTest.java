@@ -1,6 +1,7 @@
 package testcases;
 
 import base.BaseTest;
+import base.ReportLog;
 import org.testng.annotations.Test;
 import pages.LogoutPage;
 
@@ -15,17 +16,17 @@ public class LogoutTest extends BaseTest {
     @Test
     public void logoutApplication() {
         // Create a test entry in the extent report
-        extentTest = extentReports.createTest("Logout Test", "Verifies the logout functionality");
+        setExtentTest(ReportLog.createTest("Logout Test", "Verifies the logout functionality"));
 
         // Instantiate the LogoutPage and perform logout
-        LogoutPage logoutPage = new LogoutPage();
+        LogoutPage logoutPage = getPage(LogoutPage.class);
         logoutPage.performLogout();
 
         // Assert that logout was successful
         assert logoutPage.isLogoutSuccessful() : "Logout was not successful";
 
         // Log the result in the extent report
-        extentTest.info("Logout successful, redirected to login page.");
-        extentTest.pass("Logout was successful");
+        getReportLog().info("Logout successful, redirected to login page.");
+        getReportLog().pass("Logout was successful");
     }
 }
\ No newline at end of file
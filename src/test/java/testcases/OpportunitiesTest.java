@@ -1,10 +1,10 @@
 package testcases;
 
 import base.BaseTest;
+import base.ReportLog;
 import org.testng.annotations.Test;
 import pages.OpportunitiesPage;
 import util.DateUtil;
-import util.JsonUtil;
 
 import java.util.Map;
 
@@ -18,15 +18,15 @@ public class OpportunitiesTest extends BaseTest {
      */
     @Test
     public void createOpportunityTest() {
-        extentTest = extentReports.createTest(
+        setExtentTest(ReportLog.createTest(
                 "Create Opportunity Test",
                 "Test to verify opportunity creation functionality"
-        );
+        ));
 
         // Retrieve test data for opportunities
         Map<String, Object> opportunityData = (Map<String, Object>) testData.get("opportunities");
-        String accountName = JsonUtil.readValueByKeyFromJsonFile(uniqueTestDataFilePath, "accountName");
-        String opportunityName = JsonUtil.readValueByKeyFromJsonFile(uniqueTestDataFilePath, "opportunityName");
+        String accountName = getRunDataValue("accountName");
+        String opportunityName = getRunDataValue("opportunityName");
 
         String headerText = opportunityData.get("h2_NewOpportunity").toString();
         String recordType = opportunityData.get("recordType").toString();
@@ -46,7 +46,7 @@ public class OpportunitiesTest extends BaseTest {
         }
 
         // Interact with Opportunities page
-        OpportunitiesPage opportunitiesPage = new OpportunitiesPage();
+        OpportunitiesPage opportunitiesPage = getPage(OpportunitiesPage.class);
         opportunitiesPage.waitUntilOpportunitiesTabVisible();
         opportunitiesPage.clickNewOpportunityLinkFromDropdown();
         opportunitiesPage.verifyOpportunitiesDialogHeaderText(headerText);
@@ -70,6 +70,7 @@ public class OpportunitiesTest extends BaseTest {
                 accountName
         );
         assert isOpportunityDisplayed : "Opportunity account name is not displayed after creation: " + accountName;
-        extentTest.pass("Opportunity created successfully for Account: " + accountName);
+        registerCreatedRecord("Opportunity");
+        getReportLog().pass("Opportunity created successfully for Account: " + accountName);
     }
 }
\ No newline at end of file
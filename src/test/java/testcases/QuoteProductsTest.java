@@ -1,11 +1,14 @@
 package testcases;
 
 import base.BaseTest;
+import base.ReportLog;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import pages.*;
-import util.JsonUtil;
+import util.ShadowDomHandler;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -18,14 +21,14 @@ public class QuoteProductsTest extends BaseTest {
      */
     @BeforeMethod
     public void navigateToQuotesPage() {
-        extentTest = extentReports.createTest("Navigate to Quotes Page", "Test to navigate to the Quotes page from Home");
-        HomePage homePage = new HomePage();
-        SearchPage searchPage = new SearchPage();
+        setExtentTest(ReportLog.createTest("Navigate to Quotes Page", "Test to navigate to the Quotes page from Home"));
+        HomePage homePage = getPage(HomePage.class);
+        SearchPage searchPage = getPage(SearchPage.class);
 
         // Retrieve test data for search and quote pages
         Map<String, Object> searchPageData = (Map<String, Object>) testData.get("searchPage");
         Map<String, Object> quoteData = (Map<String, Object>) testData.get("quote");
-        String accountName = JsonUtil.readValueByKeyFromJsonFile(uniqueTestDataFilePath, "accountName");
+        String accountName = getRunDataValue("accountName");
 
         homePage.clickHomeTab();
         homePage.verifyHomePageIsDisplayed();
@@ -34,7 +37,7 @@ public class QuoteProductsTest extends BaseTest {
         // Navigate to Quotes page from search results
         searchPage.clickLinkFromSearchResults(searchPageData.get("TH_Quotes").toString(), null);
         assert searchPage.isPageDisplayed(quoteData.get("entityLabel").toString()) : "Quotes page is not displayed";
-        extentTest.pass("Navigated to Quotes page successfully.");
+        getReportLog().pass("Navigated to Quotes page successfully.");
     }
 
     /**
@@ -42,7 +45,7 @@ public class QuoteProductsTest extends BaseTest {
      */
     @Test
     public void selectAndEditProductsTest() throws InterruptedException {
-        extentTest = extentReports.createTest("Select and Edit Products Test", "Test to select and edit products in a Quote");
+        setExtentTest(ReportLog.createTest("Select and Edit Products Test", "Test to select and edit products in a Quote"));
 
         // Retrieve product and quantity data from test data
         Map<String, Object> productsData = (Map<String, Object>) testData.get("products");
@@ -53,8 +56,8 @@ public class QuoteProductsTest extends BaseTest {
         String quantityReviewResponse = productsData.get("quantity_Review_Response").toString();
         String quantityReviewGeneration = productsData.get("quantity_Review_Generation").toString();
 
-        QuotePage quotePage = new QuotePage();
-        ProductSelection productSelection = new ProductSelection();
+        QuotePage quotePage = getPage(QuotePage.class);
+        ProductSelection productSelection = getPage(ProductSelection.class);
 
         // Begin editing products in the quote
         quotePage.clickEditLinesButton();
@@ -63,20 +66,33 @@ public class QuoteProductsTest extends BaseTest {
         quotePage.clickAddProductsButton();
 
         // Select products to add
-        productSelection.selectProductByName(productReviewMonitoring);
-        productSelection.selectProductByName(productReviewResponse);
-        productSelection.selectProductByName(productReviewGeneration);
+        List<String> missingProducts = productSelection.selectProducts(
+                List.of(productReviewMonitoring, productReviewResponse, productReviewGeneration));
+        assert missingProducts.isEmpty() : "Products not found: " + missingProducts;
         productSelection.clickSelectButton();
 
         // Edit product quantities
-        quotePage.editProductQuantity(productReviewMonitoring, quantityReviewMonitoring, true);
-        quotePage.editProductQuantity(productReviewResponse, quantityReviewResponse, true);
-        quotePage.editProductQuantity(productReviewGeneration, quantityReviewGeneration, false);
+        List<ShadowDomHandler.LineTotal> totalsBefore = quotePage.readLineTotals(
+                List.of(productReviewMonitoring, productReviewResponse, productReviewGeneration));
+        Map<String, QuotePage.LineEdit> lineEdits = new LinkedHashMap<>();
+        lineEdits.put(productReviewMonitoring, QuotePage.LineEdit.quantity(quantityReviewMonitoring));
+        lineEdits.put(productReviewResponse, QuotePage.LineEdit.quantity(quantityReviewResponse));
+        lineEdits.put(productReviewGeneration, QuotePage.LineEdit.quantity(quantityReviewGeneration));
+        List<ShadowDomHandler.LineTotal> totalsAfter = quotePage.editLines(lineEdits);
+        for (String product : lineEdits.keySet()) {
+            // The edited line is the first one of the product, as in editLines
+            ShadowDomHandler.LineTotal after = totalsAfter.stream()
+                    .filter(line -> line.getProductName().equalsIgnoreCase(product)).findFirst()
+                    .orElseThrow(() -> new AssertionError("Edited line is missing from the quote: " + product));
+            ShadowDomHandler.LineTotal before = totalsBefore.get(after.getLineNumber() - 1);
+            assert !after.getTotal().equals(before.getTotal())
+                    : "Net total of line " + after + " did not change from " + before.getTotal();
+        }
 
         // Save changes and close alert
         quotePage.clickSaveButtonInIframe();
         quotePage.clickCloseButtonInAlert();
 
-        extentTest.pass("Products selected and quantities edited successfully.");
+        getReportLog().pass("Products selected and quantities edited successfully.");
     }
 }
\ No newline at end of file
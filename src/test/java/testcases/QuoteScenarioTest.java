@@ -0,0 +1,150 @@
+package testcases;
+
+import base.BaseTest;
+import base.ReportLog;
+import base.RowWorkerPool;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import pages.HomePage;
+import pages.LoginPage;
+import pages.OpportunitiesPage;
+import pages.QuotePage;
+import pages.SearchPage;
+import util.DateUtil;
+import util.TestDataStream;
+
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Data-driven quote creation over the scenarios of a JSON-lines or CSV file.
+ * Scenario values override the "quote" test data; rows are streamed, so the file can hold any number of them.
+ * The data provider is sequential and hands every row to a worker pool sized to the suite's
+ * data-provider-thread-count, one pooled browser session per worker. TestNG pulls the next row only when
+ * a worker is free, so at most the stream's buffer and one row per worker are in memory.
+ */
+public class QuoteScenarioTest extends BaseTest {
+
+    private RowWorkerPool scenarioWorkers;
+
+    /**
+     * Starts the scenario workers, one per data-provider thread of the suite.
+     * @param context Test context of the running block
+     */
+    @BeforeClass
+    public void startScenarioWorkers(ITestContext context) {
+        scenarioWorkers = new RowWorkerPool("quote-scenario", context.getSuite().getXmlSuite().getDataProviderThreadCount());
+    }
+
+    /**
+     * Streams the quote scenarios from the file configured in quoteScenarioDataFile.
+     * Sequential on purpose: a parallel data provider is read to the end by TestNG before any row runs.
+     * @return iterator of single-element rows holding the scenario map
+     */
+    @DataProvider(name = "quoteScenarios")
+    public Iterator<Object[]> quoteScenarios() {
+        return TestDataStream.open(
+                Paths.get(System.getProperty("user.dir") + configProperties.getProperty("quoteScenarioDataFile")),
+                Integer.parseInt(configProperties.getProperty("dataProviderBufferSize")));
+    }
+
+    /**
+     * Hands one scenario to the next free worker, waiting while all workers are busy.
+     * @param scenario Scenario values (scenario, term, paymentOption, paymentTerms, billingPeriod, startDate)
+     */
+    @Test(dataProvider = "quoteScenarios")
+    public void createQuoteForScenarioTest(Map<String, Object> scenario) {
+        scenarioWorkers.submit(String.valueOf(scenario.get("scenario")), () -> createQuoteForScenario(scenario));
+    }
+
+    /**
+     * Test to verify that the quotes of all scenarios were created.
+     */
+    @Test(dependsOnMethods = "createQuoteForScenarioTest")
+    public void allQuoteScenariosCreatedTest() {
+        Map<String, String> failures = scenarioWorkers.awaitCompletion(
+                Long.parseLong(configProperties.getProperty("quoteScenarioTimeoutMinutes")) * 60);
+        assert failures.isEmpty() : "Quote scenarios failed: " + failures;
+    }
+
+    /**
+     * Stops the workers if the scenarios did not run to the end, returning their sessions to the pool.
+     */
+    @AfterClass(alwaysRun = true)
+    public void stopScenarioWorkers() {
+        if (scenarioWorkers != null) {
+            scenarioWorkers.awaitCompletion(0);
+        }
+    }
+
+    /**
+     * Creates the quote of one scenario on the opportunity of the current run data, on a worker thread.
+     * @param scenario Scenario values
+     */
+    private void createQuoteForScenario(Map<String, Object> scenario) {
+        setExtentTest(ReportLog.createTest("Create Quote Scenario: " + scenario.get("scenario"),
+                "Test to verify quote creation for scenario " + scenario));
+        try {
+            createQuote(scenario);
+        } catch (RuntimeException | AssertionError e) {
+            getReportLog().fail("Quote scenario " + scenario.get("scenario") + " failed: " + e);
+            throw e;
+        }
+    }
+
+    private void createQuote(Map<String, Object> scenario) {
+
+        Map<String, Object> quoteTestData = new HashMap<>((Map<String, Object>) testData.get("quote"));
+        quoteTestData.putAll(scenario);
+        Map<String, Object> searchPageTestData = (Map<String, Object>) testData.get("searchPage");
+        String opportunityName = getRunDataValue("opportunityName");
+        String accountName = getRunDataValue("accountName");
+        String contactName = getRunDataValue("firstName") + " " + getRunDataValue("lastName");
+
+        String headerText = quoteTestData.get("h2_NewQuote").toString();
+        String recordType = quoteTestData.get("recordType").toString();
+
+        // Determine start date
+        String startDate;
+        boolean isStartDateEmpty = quoteTestData.get("startDate") == null || quoteTestData.get("startDate").toString().isEmpty();
+        if (isStartDateEmpty) {
+            startDate = new DateUtil().getCurrentDateFormatted(configProperties.getProperty("dateFormat"));
+        } else {
+            startDate = quoteTestData.get("startDate").toString();
+        }
+
+        // Data-provider workers lease their own session, logged in on lease only if a snapshot was restored
+        getPage(LoginPage.class).performLoginWithSessionSnapshot(
+                configProperties.getProperty("username"), configProperties.getProperty("password"));
+
+        HomePage homePage = getPage(HomePage.class);
+        SearchPage searchPage = getPage(SearchPage.class);
+        QuotePage quotePage = getPage(QuotePage.class);
+        OpportunitiesPage opportunitiesPage = getPage(OpportunitiesPage.class);
+
+        // Open the opportunity and create the quote with the scenario values
+        homePage.searchAndOpen(opportunityName);
+        searchPage.clickLinkFromSearchResults(searchPageTestData.get("TH_Opportunities").toString(), null);
+        opportunitiesPage.clickCreateQuoteButton();
+        quotePage.clickProceedButton();
+        quotePage.isQuoteDialogHeaderTextCorrect(headerText + ": " + recordType);
+        quotePage.enterStartDate(startDate);
+        quotePage.selectSoldToContact(contactName);
+        quotePage.selectBillToContact(contactName);
+        quotePage.enterSubscriptionTerm(quoteTestData.get("term").toString());
+        quotePage.selectPaymentOption(quoteTestData.get("paymentOption").toString());
+        quotePage.selectPaymentTerms(quoteTestData.get("paymentTerms").toString());
+        quotePage.selectBillingPeriod(quoteTestData.get("billingPeriod").toString());
+        quotePage.clickSave();
+
+        assert quotePage.isQuoteNameDisplayed(quoteTestData.get("entityLabel").toString(), accountName)
+                : "Quote account name is not displayed after creation for scenario " + scenario.get("scenario");
+        registerCreatedRecord("SBQQ__Quote__c");
+        getReportLog().pass("Quote created for scenario " + scenario.get("scenario") + " on Account: " + accountName);
+    }
+}
@@ -1,6 +1,7 @@
 package testcases;
 
 import base.BaseTest;
+import base.ReportLog;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import pages.HomePage;
@@ -8,7 +9,6 @@ import pages.OpportunitiesPage;
 import pages.QuotePage;
 import pages.SearchPage;
 import util.DateUtil;
-import util.JsonUtil;
 
 import java.util.Map;
 
@@ -23,13 +23,13 @@ public class QuoteTest extends BaseTest {
      */
     // @BeforeMethod
     public void navigateToQuotePage() {
-        extentTest = extentReports.createTest("Navigate to Quote Page", "Test to navigate to the Quotes page");
+        setExtentTest(ReportLog.createTest("Navigate to Quote Page", "Test to navigate to the Quotes page"));
 
-        HomePage homePage = new HomePage();
-        SearchPage searchPage = new SearchPage();
+        HomePage homePage = getPage(HomePage.class);
+        SearchPage searchPage = getPage(SearchPage.class);
         Map<String, Object> searchPageTestData = (Map<String, Object>) testData.get("searchPage");
         Map<String, Object> quoteTestData = (Map<String, Object>) testData.get("quote");
-        String accountName = JsonUtil.readValueByKeyFromJsonFile(uniqueTestDataFilePath, "accountName");
+        String accountName = getRunDataValue("accountName");
 
         homePage.verifyHomePageIsDisplayed();
         homePage.searchAndOpen(accountName);
@@ -42,12 +42,12 @@ public class QuoteTest extends BaseTest {
      */
     @Test
     public void createQuoteTest() {
-        extentTest = extentReports.createTest("Create Quote Test", "Test to verify quote creation functionality");
+        setExtentTest(ReportLog.createTest("Create Quote Test", "Test to verify quote creation functionality"));
 
         Map<String, Object> quoteTestData = (Map<String, Object>) testData.get("quote");
-        String accountName = JsonUtil.readValueByKeyFromJsonFile(uniqueTestDataFilePath, "accountName");
-        String firstName = JsonUtil.readValueByKeyFromJsonFile(uniqueTestDataFilePath, "firstName");
-        String lastName = JsonUtil.readValueByKeyFromJsonFile(uniqueTestDataFilePath, "lastName");
+        String accountName = getRunDataValue("accountName");
+        String firstName = getRunDataValue("firstName");
+        String lastName = getRunDataValue("lastName");
         String contactName = firstName + " " + lastName;
 
         String headerText = quoteTestData.get("h2_NewQuote").toString();
@@ -62,8 +62,8 @@ public class QuoteTest extends BaseTest {
             startDate = quoteTestData.get("startDate").toString();
         }
 
-        QuotePage quotePage = new QuotePage();
-        OpportunitiesPage opportunitiesPage = new OpportunitiesPage();
+        QuotePage quotePage = getPage(QuotePage.class);
+        OpportunitiesPage opportunitiesPage = getPage(OpportunitiesPage.class);
 
         // Steps to create a new quote
         opportunitiesPage.clickCreateQuoteButton();
@@ -81,7 +81,8 @@ public class QuoteTest extends BaseTest {
         // Assertion to verify quote creation
         assert quotePage.isQuoteNameDisplayed(quoteTestData.get("entityLabel").toString(), accountName)
                 : "Quote account name is not displayed after creation: " + accountName;
-        extentTest.info("Quote created successfully for Account: " + accountName + ", Contact: " + contactName);
-        extentTest.pass("Quote created successfully for Account: " + accountName);
+        registerCreatedRecord("SBQQ__Quote__c");
+        getReportLog().info("Quote created successfully for Account: " + accountName + ", Contact: " + contactName);
+        getReportLog().pass("Quote created successfully for Account: " + accountName);
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package testcases;
 
 import base.BaseTest;
+import org.testng.ITestContext;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 
@@ -17,7 +18,8 @@ public class TestSetup extends BaseTest {
      * Initializes resources before the entire test suite runs.
      */
     @BeforeSuite
-    public void setUpSuite() {
+    public void setUpSuite(ITestContext context) {
+        setDataProviderThreadCount(context.getSuite().getXmlSuite().getDataProviderThreadCount());
         setUp();
     }
 
@@ -0,0 +1,57 @@
+package util;
+
+import org.testng.annotations.Test;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Streams a large generated file and checks that the reader stays within its buffer of the consumer.
+ */
+public class TestDataStreamTest {
+
+    private static final int ROW_COUNT = 200_000;
+    private static final int BUFFER_SIZE = 50;
+
+    @Test
+    public void bufferCapsReadAhead() throws Exception {
+        Path file = Files.createTempDirectory("testDataStream").resolve("rows.jsonl");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                writer.write("{\"scenario\":\"S" + i + "\",\"term\":\"" + (12 + i % 24) + "\"}");
+                writer.newLine();
+            }
+        }
+
+        try (TestDataStream stream = TestDataStream.open(file, BUFFER_SIZE)) {
+            // A slow consumer: the reader fills the buffer and then waits
+            Thread.sleep(500);
+            assertEquals(stream.getRowsRead(), BUFFER_SIZE);
+
+            int consumed = 0;
+            while (consumed < 1_000) {
+                assertTrue(stream.hasNext());
+                Map<String, Object> row = (Map<String, Object>) stream.next()[0];
+                assertEquals(row.get("scenario"), "S" + consumed);
+                consumed++;
+            }
+            Thread.sleep(200);
+            // Consumed rows, the buffer and the row the consumer peeked at
+            assertTrue(stream.getRowsRead() <= consumed + BUFFER_SIZE + 1, "Read ahead: " + stream.getRowsRead());
+
+            while (stream.hasNext()) {
+                stream.next();
+                consumed++;
+            }
+            assertEquals(consumed, ROW_COUNT);
+            assertFalse(stream.hasNext());
+        }
+    }
+}
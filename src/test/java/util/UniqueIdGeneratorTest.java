@@ -0,0 +1,78 @@
+package util;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Stress test of the unique ID generator: millions of names from parallel workers, no collisions.
+ */
+public class UniqueIdGeneratorTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int IDS_PER_THREAD = 250_000;
+
+    @Test
+    public void generatesNoCollisionsAcrossThreads() throws Exception {
+        UniqueIdGenerator generator = new UniqueIdGenerator("run1");
+        Set<String> ids = ConcurrentHashMap.newKeySet(THREAD_COUNT * IDS_PER_THREAD);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < IDS_PER_THREAD; j++) {
+                        ids.add(generator.next("AN"));
+                    }
+                    return null;
+                }));
+            }
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            System.out.println("Generated " + ids.size() + " IDs on " + THREAD_COUNT + " threads in " + elapsedMillis + " ms");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(ids.size(), THREAD_COUNT * IDS_PER_THREAD, "Duplicate IDs generated");
+        for (String id : ids) {
+            assertTrue(id.matches("AN[a-z0-9]+"), "Not Salesforce-safe: " + id);
+        }
+    }
+
+    @Test
+    public void generatesDistinctIdsForDistinctRuns() {
+        UniqueIdGenerator firstRun = new UniqueIdGenerator("run1");
+        UniqueIdGenerator secondRun = new UniqueIdGenerator("run2");
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(firstRun.next("FN"));
+            ids.add(secondRun.next("FN"));
+        }
+        assertEquals(ids.size(), 200_000, "Runs generated overlapping IDs");
+    }
+
+    @Test
+    public void encodesRunAndWorkerIds() {
+        UniqueIdGenerator generator = new UniqueIdGenerator("Run42");
+        String id = generator.next("LN");
+        assertTrue(id.startsWith("LN" + "run42" + generator.getWorkerId()), id);
+        assertTrue(UniqueIdGenerator.getDefault().getRunId().matches("[a-z0-9]{9}"),
+                UniqueIdGenerator.getDefault().getRunId());
+    }
+}